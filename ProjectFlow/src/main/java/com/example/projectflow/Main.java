@@ -6,17 +6,22 @@ import javafx.scene.Parent;
 import javafx.scene.Scene;
 import javafx.scene.control.Alert;
 import javafx.stage.Stage;
+import dao.AsyncDAO;
+import dao.TaskWriteBehind;
+import dao.Bootstrap;
 import dao.DatabaseConnection;
+import utils.FxAsync;
 
 public class Main extends Application {
 
     @Override
     public void start(Stage primaryStage) {
         try {
-            if (!DatabaseConnection.testConnection()) {
-                showDatabaseErrorDialog();
-                return;
-            }
+            FxAsync.onFxThread(Bootstrap.startDatabase(), ready -> {
+                if (!ready) {
+                    showDatabaseErrorDialog();
+                }
+            }, error -> showDatabaseErrorDialog());
             FXMLLoader loader = new FXMLLoader();
             loader.setLocation(getClass().getResource("/com/example/projectflow/login.fxml"));
             if (loader.getLocation() == null) {
@@ -68,6 +73,9 @@ public class Main extends Application {
 
     @Override
     public void stop() {
+        TaskWriteBehind.getInstance().shutdown();
+        AsyncDAO.shutdown();
+        System.out.print(DatabaseConnection.dumpQueryMetrics());
         DatabaseConnection.closeConnection();
         System.out.println("Приложение завершено");
     }
@@ -0,0 +1,126 @@
+package controllers;
+
+import models.Board;
+import models.Column;
+import models.Task;
+import javafx.collections.ObservableList;
+import javafx.scene.Node;
+import javafx.scene.layout.Pane;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiFunction;
+import java.util.function.Supplier;
+
+public class BoardReconciler {
+    private final Pane container;
+    private final BiFunction<Column, Board, ColumnView> columnFactory;
+    private final Supplier<Node> trailingFactory;
+    private final Map<Integer, ColumnView> views = new HashMap<>();
+    private Node trailing;
+
+    public BoardReconciler(Pane container, BiFunction<Column, Board, ColumnView> columnFactory,
+                           Supplier<Node> trailingFactory) {
+        this.container = container;
+        this.columnFactory = columnFactory;
+        this.trailingFactory = trailingFactory;
+    }
+
+    public String reconcile(Board board) {
+        int added = 0;
+        int removed = 0;
+        int moved = 0;
+        int cardChanges = 0;
+        Map<Integer, ColumnView> next = new HashMap<>();
+        List<Node> desired = new ArrayList<>();
+        for (Column column : board.getColumns()) {
+            ColumnView view = views.remove(column.getId());
+            if (view != null && view.controller != null) {
+                cardChanges += view.controller.update(column, board);
+            } else {
+                if (view != null) {
+                    removed++;
+                }
+                view = columnFactory.apply(column, board);
+                added++;
+            }
+            next.put(column.getId(), view);
+            desired.add(view.node);
+        }
+        removed += views.size();
+        views.clear();
+        views.putAll(next);
+        if (trailing == null) {
+            trailing = trailingFactory.get();
+        }
+        desired.add(trailing);
+
+        ObservableList<Node> children = container.getChildren();
+        children.retainAll(desired);
+        for (int i = 0; i < desired.size(); i++) {
+            Node node = desired.get(i);
+            if (i < children.size() && children.get(i) == node) {
+                continue;
+            }
+            if (children.remove(node) && node != trailing) {
+                moved++;
+            }
+            children.add(i, node);
+        }
+        if (children.size() > desired.size()) {
+            children.remove(desired.size(), children.size());
+        }
+        return "колонок +" + added + " -" + removed + ", перемещено " + moved +
+                ", изменений карточек " + cardChanges;
+    }
+
+    public String refresh(Board board, Set<Integer> columnIds, Set<Integer> taskIds) {
+        if (views.size() != board.getColumns().size()) {
+            return reconcile(board);
+        }
+        int updated = 0;
+        int cardChanges = 0;
+        for (Column column : board.getColumns()) {
+            ColumnView view = views.get(column.getId());
+            if (view == null || view.controller == null) {
+                return reconcile(board);
+            }
+            if (columnIds.contains(column.getId()) || touches(view.controller, board.getTasks(column.getId()), taskIds)) {
+                cardChanges += view.controller.update(column, board);
+                updated++;
+            }
+        }
+        return "обновлено колонок " + updated + " из " + views.size() + ", изменений карточек " + cardChanges;
+    }
+
+    private static boolean touches(ColumnController controller, List<Task> tasks, Set<Integer> taskIds) {
+        for (Integer taskId : taskIds) {
+            if (controller.isRendered(taskId)) {
+                return true;
+            }
+        }
+        for (Task task : tasks) {
+            if (taskIds.contains(task.getId())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public void clear() {
+        views.clear();
+        container.getChildren().clear();
+    }
+
+    public static class ColumnView {
+        private final Node node;
+        private final ColumnController controller;
+
+        public ColumnView(Node node, ColumnController controller) {
+            this.node = node;
+            this.controller = controller;
+        }
+    }
+}
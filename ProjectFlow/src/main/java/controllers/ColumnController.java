@@ -2,25 +2,37 @@ package controllers;
 
 import dao.TaskDAO;
 import dao.ColumnDAO;
+import dao.TaskRepository;
+import models.Board;
 import models.Column;
 import models.Task;
+import utils.ColorPalette;
+import javafx.collections.ObservableList;
+import javafx.css.PseudoClass;
 import javafx.fxml.FXML;
-import javafx.fxml.FXMLLoader;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
 import javafx.scene.control.*;
 import javafx.scene.layout.VBox;
 import javafx.scene.paint.Color;
 import javafx.scene.shape.Rectangle;
-import java.io.IOException;
 import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 
 public class ColumnController {
+    private static final double CARD_HEIGHT = 113;
+    private static final double DESCRIPTION_HEIGHT = 40;
+    private static final double LIST_INSETS = 4;
+    private static final PseudoClass LIGHT_TEXT = PseudoClass.getPseudoClass("light-text");
+    private static final PseudoClass DARK_TEXT = PseudoClass.getPseudoClass("dark-text");
 
     @FXML private TextField columnTitleField;
     @FXML private Label taskCountLabel;
-    @FXML private VBox tasksContainer;
+    @FXML private ListView<Task> tasksList;
     @FXML private Button addTaskButton;
     @FXML private VBox columnContainer;
 
@@ -28,39 +40,19 @@ public class ColumnController {
     private MainController mainController;
     private TaskDAO taskDAO = new TaskDAO();
     private ColumnDAO columnDAO = new ColumnDAO();
+    private Board board;
+    private Map<Integer, CardKey> renderedCards = new HashMap<>();
+    private ColorPalette.ColumnColors colors = ColorPalette.DEFAULT_COLUMN_COLORS;
 
     @FXML
     public void initialize() {
+        tasksList.setCellFactory(list -> new TaskCardCell(this));
         setupButtonHoverEffects();
     }
 
     private void setupButtonHoverEffects() {
-        addTaskButton.setOnMouseEntered(event -> handleButtonHover(event));
-        addTaskButton.setOnMouseExited(event -> handleButtonExit(event));
-    }
-
-    @FXML
-    public void handleButtonHover(javafx.scene.input.MouseEvent event) {
-        if (event.getSource() instanceof Button) {
-            Button button = (Button) event.getSource();
-            if (button == addTaskButton && column != null && column.getColor() != null) {
-                button.setStyle("-fx-background-color: " + column.getColor() + "40;");
-            } else {
-                button.setStyle(button.getStyle().replace("rgba(255,255,255,0.2)", "rgba(255,255,255,0.3)").replace("rgba(0,0,0,0.06)", "rgba(0,0,0,0.1)"));
-            }
-        }
-    }
-
-    @FXML
-    public void handleButtonExit(javafx.scene.input.MouseEvent event) {
-        if (event.getSource() instanceof Button) {
-            Button button = (Button) event.getSource();
-            if (button == addTaskButton && column != null && column.getColor() != null) {
-                button.setStyle("-fx-background-color: " + column.getColor() + "20;");
-            } else {
-                button.setStyle(button.getStyle().replace("rgba(255,255,255,0.3)", "rgba(255,255,255,0.2)").replace("rgba(0,0,0,0.1)", "rgba(0,0,0,0.06)"));
-            }
-        }
+        addTaskButton.setOnMouseEntered(event -> addTaskButton.setBackground(colors.getButtonHoverBackground()));
+        addTaskButton.setOnMouseExited(event -> addTaskButton.setBackground(colors.getButtonBackground()));
     }
 
     @FXML
@@ -75,114 +67,115 @@ public class ColumnController {
         }
     }
 
-    public void setColumn(Column column, MainController mainController) {
+    public void setColumn(Column column, Board board, MainController mainController) {
         this.column = column;
+        this.board = board;
         this.mainController = mainController;
         updateUI();
     }
 
+    public int update(Column column, Board board) {
+        String previousColor = this.column != null ? this.column.getColor() : null;
+        this.column = column;
+        this.board = board;
+        if (!columnTitleField.isFocused() && !Objects.equals(column.getTitle(), columnTitleField.getText())) {
+            columnTitleField.setText(column.getTitle());
+        }
+        if (!Objects.equals(previousColor, column.getColor())) {
+            applyColumnColor();
+        }
+        return renderTasks(board.getTasks(column.getId()));
+    }
+
     private void updateUI() {
         if (column == null) return;
         columnTitleField.setText(column.getTitle());
         applyColumnColor();
-        loadTasks();
+        renderTasks(board != null ? board.getTasks(column.getId()) : List.of());
     }
 
     private void applyColumnColor() {
-        if (column.getColor() != null && !column.getColor().isEmpty()) {
-            try {
-                String lightColor = getLightColorVariant(column.getColor());
-                columnContainer.setStyle(
-                        "-fx-background-color: " + lightColor + ";" +
-                                "-fx-background-radius: 3;" +
-                                "-fx-border-color: " + column.getColor() + "40;" +
-                                "-fx-border-radius: 3;" +
-                                "-fx-border-width: 1;" +
-                                "-fx-padding: 0;"
-                );
-                columnTitleField.setStyle(
-                        "-fx-background-color: transparent;" +
-                                "-fx-border-color: transparent;" +
-                                "-fx-font-weight: bold;" +
-                                "-fx-font-size: 14;" +
-                                "-fx-text-fill: " + getContrastColor(column.getColor()) + ";" +
-                                "-fx-padding: 2 0;" +
-                                "-fx-pref-width: 180;"
-                );
-                taskCountLabel.setStyle(
-                        "-fx-text-fill: " + getContrastColor(column.getColor()) + ";" +
-                                "-fx-font-size: 12;" +
-                                "-fx-padding: 4 8;" +
-                                "-fx-background-color: " + column.getColor() + "40;" +
-                                "-fx-background-radius: 12;"
-                );
-                addTaskButton.setStyle(
-                        "-fx-background-color: " + column.getColor() + "20;" +
-                                "-fx-text-fill: " + getContrastColor(column.getColor()) + ";" +
-                                "-fx-border-color: " + column.getColor() + "40;" +
-                                "-fx-font-size: 14;" +
-                                "-fx-cursor: hand;" +
-                                "-fx-alignment: center-left;"
-                );
-            } catch (Exception e) {
-                System.err.println("Ошибка установки цвета: " + e.getMessage());
-                setDefaultStyles();
-            }
-        } else {
-            setDefaultStyles();
-        }
+        colors = ColorPalette.column(column.getColor());
+        columnContainer.setBackground(colors.getBackground());
+        columnContainer.setBorder(colors.getBorder());
+        columnContainer.pseudoClassStateChanged(LIGHT_TEXT, colors.isColored() && colors.isLightText());
+        columnContainer.pseudoClassStateChanged(DARK_TEXT, colors.isColored() && !colors.isLightText());
+        taskCountLabel.setBackground(colors.getCountBackground());
+        addTaskButton.setBackground(addTaskButton.isHover() ? colors.getButtonHoverBackground() : colors.getButtonBackground());
+        addTaskButton.setBorder(colors.getButtonBorder());
     }
 
-    private String getLightColorVariant(String hexColor) {
-        try {
-            int r = Integer.parseInt(hexColor.substring(1, 3), 16);
-            int g = Integer.parseInt(hexColor.substring(3, 5), 16);
-            int b = Integer.parseInt(hexColor.substring(5, 7), 16);
-            r = Math.min(255, r + 100);
-            g = Math.min(255, g + 100);
-            b = Math.min(255, b + 100);
-            return String.format("#%02X%02X%02X", r, g, b);
-        } catch (Exception e) {
-            return "#f4f5f7";
+    public void loadTasks() {
+        if (column != null && TaskRepository.getInstance().isLoaded(column.getProjectId())) {
+            renderTasks(TaskRepository.getInstance().findByColumnId(column.getId()));
+        } else if (mainController != null) {
+            mainController.refreshBoard();
         }
     }
 
-    private String getContrastColor(String hexColor) {
-        try {
-            int r = Integer.parseInt(hexColor.substring(1, 3), 16);
-            int g = Integer.parseInt(hexColor.substring(3, 5), 16);
-            int b = Integer.parseInt(hexColor.substring(5, 7), 16);
-            double yiq = ((r * 299) + (g * 587) + (b * 114)) / 1000;
-            return (yiq >= 150) ? "#000000" : "#FFFFFF";
-        } catch (Exception e) {
-            return "#172b4d";
+    private int renderTasks(List<Task> tasks) {
+        taskCountLabel.setText(String.valueOf(tasks.size()));
+        tasksList.setPrefHeight(estimateListHeight(tasks));
+        Map<Integer, CardKey> previous = renderedCards;
+        renderedCards = new HashMap<>();
+        for (Task task : tasks) {
+            renderedCards.put(task.getId(), new CardKey(task));
+        }
+        ObservableList<Task> items = tasksList.getItems();
+        if (items.isEmpty()) {
+            items.setAll(tasks);
+            return tasks.size();
         }
+        int before = items.size();
+        items.removeIf(task -> !renderedCards.containsKey(task.getId()));
+        int changes = before - items.size();
+        boolean stale = false;
+        for (int i = 0; i < tasks.size(); i++) {
+            Task task = tasks.get(i);
+            if (i < items.size() && items.get(i).getId() == task.getId()) {
+                if (items.get(i) != task) {
+                    items.set(i, task);
+                    changes++;
+                } else if (!Objects.equals(previous.get(task.getId()), renderedCards.get(task.getId()))) {
+                    stale = true;
+                    changes++;
+                }
+                continue;
+            }
+            int from = indexOf(items, task.getId(), i + 1);
+            if (from >= 0) {
+                items.remove(from);
+            }
+            items.add(i, task);
+            changes++;
+        }
+        if (items.size() > tasks.size()) {
+            items.remove(tasks.size(), items.size());
+        }
+        if (stale) {
+            tasksList.refresh();
+        }
+        return changes;
     }
 
-    private void setDefaultStyles() {
-        columnContainer.setStyle("-fx-background-color: #f4f5f7;");
-        columnTitleField.setStyle("-fx-font-weight: bold; -fx-font-size: 14;");
-        taskCountLabel.setStyle("-fx-text-fill: #5e6c84; -fx-font-size: 12;");
-        addTaskButton.setStyle("-fx-text-fill: #5e6c84; -fx-font-size: 14;");
+    private static int indexOf(List<Task> items, int taskId, int from) {
+        for (int i = from; i < items.size(); i++) {
+            if (items.get(i).getId() == taskId) {
+                return i;
+            }
+        }
+        return -1;
     }
 
-    public void loadTasks() {
-        tasksContainer.getChildren().clear();
-        if (column == null) return;
-        List<Task> tasks = taskDAO.findByColumnId(column.getId());
-        taskCountLabel.setText(String.valueOf(tasks.size()));
-
+    private double estimateListHeight(List<Task> tasks) {
+        double height = LIST_INSETS;
         for (Task task : tasks) {
-            try {
-                FXMLLoader loader = new FXMLLoader(getClass().getResource("/com/example/projectflow/task_card.fxml"));
-                VBox taskCard = loader.load();
-                TaskCardController controller = loader.getController();
-                controller.setTask(task, this);
-                tasksContainer.getChildren().add(taskCard);
-            } catch (IOException e) {
-                System.err.println("Не удалось загрузить карточку: " + e.getMessage());
+            height += CARD_HEIGHT;
+            if (task.getDescription() != null && !task.getDescription().trim().isEmpty()) {
+                height += DESCRIPTION_HEIGHT;
             }
         }
+        return height;
     }
 
     @FXML
@@ -199,7 +192,7 @@ public class ColumnController {
             if (!newTitle.isEmpty() && !newTitle.equals(column.getTitle())) {
                 column.setTitle(newTitle);
                 if (columnDAO.update(column)) {
-                    mainController.refreshBoard();
+                    mainController.markColumnDirty(column);
                 }
             }
         }
@@ -218,6 +211,10 @@ public class ColumnController {
         loadTasks();
     }
 
+    public boolean isRendered(int taskId) {
+        return renderedCards.containsKey(taskId);
+    }
+
     public int getColumnId() {
         return column != null ? column.getId() : -1;
     }
@@ -241,4 +238,43 @@ public class ColumnController {
     public Column getColumn() {
         return column;
     }
-}
\ No newline at end of file
+
+    private static final class CardKey {
+        private final String title;
+        private final String description;
+        private final Task.Priority priority;
+        private final LocalDate dueDate;
+        private final boolean completed;
+        private final int attachmentCount;
+        private final int[] labelIds;
+
+        CardKey(Task task) {
+            title = task.getTitle();
+            description = task.getDescription();
+            priority = task.getPriority();
+            dueDate = task.getDueDate();
+            completed = task.isCompleted();
+            attachmentCount = task.getAttachmentCount();
+            labelIds = task.getLabelIds();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof CardKey)) return false;
+            CardKey other = (CardKey) o;
+            return completed == other.completed
+                    && attachmentCount == other.attachmentCount
+                    && Objects.equals(title, other.title)
+                    && Objects.equals(description, other.description)
+                    && Objects.equals(priority, other.priority)
+                    && Objects.equals(dueDate, other.dueDate)
+                    && Arrays.equals(labelIds, other.labelIds);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(title, priority, dueDate);
+        }
+    }
+}
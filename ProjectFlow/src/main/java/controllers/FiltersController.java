@@ -1,16 +1,18 @@
 package controllers;
 
-import dao.TaskDAO;
+import dao.AsyncDAO;
+import dao.TaskRepository;
 import javafx.fxml.FXML;
 import javafx.scene.control.*;
 import javafx.stage.Stage;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import models.Task;
-import models.Project;
 import java.time.LocalDate;
-import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.function.Predicate;
+import utils.FxAsync;
 
 public class FiltersController {
 
@@ -33,7 +35,7 @@ public class FiltersController {
     @FXML private Button completedButton;
 
     private MainController mainController;
-    private final TaskDAO taskDAO = new TaskDAO();
+    private final AsyncDAO asyncDAO = new AsyncDAO();
 
     @FXML
     public void initialize() {
@@ -62,9 +64,29 @@ public class FiltersController {
             showAlert("Ошибка", "Нет активного проекта", Alert.AlertType.ERROR);
             return;
         }
-        List<Task> filteredTasks = filterTasks();
-        showFilterResults(filteredTasks);
-        mainController.refreshBoard();
+        int projectId = mainController.getCurrentProject().getId();
+        TaskRepository repository = TaskRepository.getInstance();
+        if (searchField.getText().trim().isEmpty() && repository.isLoaded(projectId)) {
+            List<Task> filteredTasks = repository.findAll(currentFilter());
+            filteredTasks.sort(Comparator.comparingInt(Task::getId).reversed());
+            showFilterResults(filteredTasks);
+            return;
+        }
+        applyButton.setDisable(true);
+        applyButton.setText("Поиск...");
+        FxAsync.onFxThread(asyncDAO.findTasksByProjectId(projectId, currentFilter()), filteredTasks -> {
+            resetApplyButton();
+            showFilterResults(filteredTasks);
+            mainController.refreshBoard();
+        }, error -> {
+            resetApplyButton();
+            showAlert("Ошибка", "Не удалось загрузить задачи: " + error.getMessage(), Alert.AlertType.ERROR);
+        });
+    }
+
+    private void resetApplyButton() {
+        applyButton.setDisable(false);
+        applyButton.setText("Применить");
     }
 
     @FXML
@@ -109,70 +131,66 @@ public class FiltersController {
         setQuickFilter("completed");
     }
 
-    private List<Task> filterTasks() {
-        List<Task> filteredTasks = new ArrayList<>();
-        Project currentProject = mainController.getCurrentProject();
-        if (currentProject == null) return filteredTasks;
-        List<Task> allTasks = taskDAO.findByProjectId(currentProject.getId());
-        for (Task task : allTasks) {
-            if (matchesAllFilters(task)) {
-                filteredTasks.add(task);
-            }
-        }
-        return filteredTasks;
-    }
-
-    private boolean matchesAllFilters(Task task) {
-        return matchesSearch(task) &&
-                matchesPriority(task) &&
-                matchesDueDate(task) &&
-                matchesStatus(task);
+    private Predicate<Task> currentFilter() {
+        String searchText = searchField.getText().toLowerCase().trim();
+        boolean low = priorityLow.isSelected();
+        boolean medium = priorityMedium.isSelected();
+        boolean high = priorityHigh.isSelected();
+        boolean critical = priorityCritical.isSelected();
+        boolean anyDueDate = dueDateAny.isSelected();
+        boolean dueToday = dueDateToday.isSelected();
+        boolean dueWeek = dueDateWeek.isSelected();
+        boolean overdue = dueDateOverdue.isSelected();
+        boolean onlyActive = statusActive.isSelected();
+        boolean onlyCompleted = statusCompleted.isSelected();
+        LocalDate today = LocalDate.now();
+        return task -> matchesSearch(task, searchText) &&
+                matchesPriority(task, low, medium, high, critical) &&
+                matchesDueDate(task, anyDueDate, dueToday, dueWeek, overdue, today) &&
+                matchesStatus(task, onlyActive, onlyCompleted);
     }
 
-    private boolean matchesSearch(Task task) {
-        String searchText = searchField.getText().toLowerCase().trim();
+    private static boolean matchesSearch(Task task, String searchText) {
         if (searchText.isEmpty()) return true;
         return task.getTitle().toLowerCase().contains(searchText) ||
                 (task.getDescription() != null && task.getDescription().toLowerCase().contains(searchText));
     }
 
-    private boolean matchesPriority(Task task) {
-        if (!priorityLow.isSelected() && !priorityMedium.isSelected() &&
-                !priorityHigh.isSelected() && !priorityCritical.isSelected()) {
+    private static boolean matchesPriority(Task task, boolean low, boolean medium, boolean high, boolean critical) {
+        if (!low && !medium && !high && !critical) {
             return true;
         }
 
         if (task.getPriority() == null) return false;
         switch (task.getPriority()) {
-            case LOW: return priorityLow.isSelected();
-            case MEDIUM: return priorityMedium.isSelected();
-            case HIGH: return priorityHigh.isSelected();
-            case CRITICAL: return priorityCritical.isSelected();
+            case LOW: return low;
+            case MEDIUM: return medium;
+            case HIGH: return high;
+            case CRITICAL: return critical;
             default: return false;
         }
     }
 
-    private boolean matchesDueDate(Task task) {
-        if (dueDateAny.isSelected()) return true;
+    private static boolean matchesDueDate(Task task, boolean any, boolean dueToday, boolean dueWeek,
+                                          boolean overdue, LocalDate today) {
+        if (any) return true;
         if (task.getDueDate() == null) return false;
-        LocalDate today = LocalDate.now();
-        if (dueDateToday.isSelected()) {
+        if (dueToday) {
             return task.getDueDate().equals(today);
         }
-        if (dueDateWeek.isSelected()) {
+        if (dueWeek) {
             LocalDate weekEnd = today.plusDays(7);
             return !task.getDueDate().isBefore(today) && !task.getDueDate().isAfter(weekEnd);
         }
-        if (dueDateOverdue.isSelected()) {
+        if (overdue) {
             return task.getDueDate().isBefore(today) && !task.isCompleted();
         }
         return true;
     }
 
-    private boolean matchesStatus(Task task) {
-        if (statusAll.isSelected()) return true;
-        if (statusActive.isSelected()) return !task.isCompleted();
-        if (statusCompleted.isSelected()) return task.isCompleted();
+    private static boolean matchesStatus(Task task, boolean onlyActive, boolean onlyCompleted) {
+        if (onlyActive) return !task.isCompleted();
+        if (onlyCompleted) return task.isCompleted();
         return true;
     }
 
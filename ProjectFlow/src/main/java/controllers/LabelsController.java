@@ -150,6 +150,9 @@ public class LabelsController {
                 newLabelColor.setValue(Color.GRAY);
             }
             updateStats();
+            if (mainController != null) {
+                mainController.reloadBoard();
+            }
             showSuccess("Метка создана: " + name);
         } else {
             showError("Ошибка создания метки");
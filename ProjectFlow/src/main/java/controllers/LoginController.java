@@ -1,9 +1,13 @@
 package controllers;
 
+import dao.AsyncDAO;
+import dao.Bootstrap;
 import dao.UserDAO;
 import dao.DatabaseConnection;
+import dao.TaskWriteBehind;
 import javafx.stage.Modality;
 import models.User;
+import utils.FxAsync;
 import utils.HashUtils;
 import javafx.fxml.FXML;
 import javafx.fxml.FXMLLoader;
@@ -14,6 +18,10 @@ import javafx.stage.Stage;
 import javafx.stage.Screen;
 import javafx.geometry.Rectangle2D;
 import java.io.IOException;
+import java.sql.SQLException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
 
 public class LoginController {
 
@@ -23,6 +31,8 @@ public class LoginController {
     @FXML private Button registerButton;
     @FXML private Label errorLabel;
 
+    private final AsyncDAO asyncDAO = new AsyncDAO();
+
     @FXML
     public void initialize() {
         System.out.println("LoginController инициализирован");
@@ -40,9 +50,9 @@ public class LoginController {
             showError("Пожалуйста, заполните все поля");
             return;
         }
-        try {
-            UserDAO userDAO = new UserDAO();
-            User user = userDAO.findByUsername(username);
+        setBusy(true, "Вход...");
+        FxAsync.onFxThread(whenDatabaseReady(() -> asyncDAO.findUserByUsername(username)), user -> {
+            setBusy(false, null);
             if (user == null) {
                 showError("Пользователь не найден");
                 return;
@@ -54,9 +64,10 @@ public class LoginController {
             } else {
                 showError("Неверный пароль");
             }
-        } catch (Exception e) {
-            showError("Ошибка при входе: " + e.getMessage());
-        }
+        }, error -> {
+            setBusy(false, null);
+            showError("Ошибка при входе: " + error.getMessage());
+        });
     }
 
     @FXML
@@ -75,33 +86,66 @@ public class LoginController {
             showError("Пароль должен содержать минимум 6 символов");
             return;
         }
-        try {
-            UserDAO userDAO = new UserDAO();
-            if (userDAO.findByUsername(username) != null) {
+        setBusy(true, "Регистрация...");
+        FxAsync.onFxThread(whenDatabaseReady(() -> AsyncDAO.supply(() -> registerUser(username, password))), newUser -> {
+            setBusy(false, null);
+            if (newUser == null) {
                 showError("Пользователь с таким именем уже существует");
                 return;
             }
-            String email = username + "@projectflow.local";
-            String checkEmailSql = "SELECT * FROM users WHERE email = ?";
-            try (var rs = DatabaseConnection.executeQuery(checkEmailSql, email)) {
-                if (rs.next()) {
-                    email = username + System.currentTimeMillis() + "@projectflow.local";
-                }
+            DatabaseConnection.setCurrentUser(newUser);
+            showSuccess("Регистрация успешна!\nТеперь вы можете войти в систему.");
+            passwordField.clear();
+            openMainWindow(newUser);
+        }, error -> {
+            setBusy(false, null);
+            showError("Ошибка при регистрации: " + error.getMessage());
+        });
+    }
+
+    private <T> CompletableFuture<T> whenDatabaseReady(Supplier<CompletableFuture<T>> work) {
+        return Bootstrap.startDatabase().thenCompose(ready -> {
+            if (!ready) {
+                return CompletableFuture.failedFuture(new IllegalStateException(
+                        "база данных недоступна, проверьте подключение"));
             }
-            User newUser = new User();
-            newUser.setUsername(username);
-            newUser.setEmail(email);
-            newUser.setPasswordHash(HashUtils.hashPassword(password));
-            if (userDAO.create(newUser)) {
-                DatabaseConnection.setCurrentUser(newUser);
-                showSuccess("Регистрация успешна!\nТеперь вы можете войти в систему.");
-                passwordField.clear();
-                openMainWindow(newUser);
-            } else {
-                showError("Ошибка при создании пользователя");
+            return work.get();
+        });
+    }
+
+    private User registerUser(String username, String password) {
+        UserDAO userDAO = new UserDAO();
+        if (userDAO.findByUsername(username) != null) {
+            return null;
+        }
+        String email = username + "@projectflow.local";
+        String checkEmailSql = "SELECT * FROM users WHERE email = ?";
+        try (var rs = DatabaseConnection.executeQuery(checkEmailSql, email)) {
+            if (rs.next()) {
+                email = username + System.currentTimeMillis() + "@projectflow.local";
             }
-        } catch (Exception e) {
-            showError("Ошибка при регистрации: " + e.getMessage());
+        } catch (SQLException e) {
+            throw new CompletionException(e);
+        }
+        User newUser = new User();
+        newUser.setUsername(username);
+        newUser.setEmail(email);
+        newUser.setPasswordHash(HashUtils.hashPassword(password));
+        if (!userDAO.create(newUser)) {
+            throw new IllegalStateException("не удалось создать пользователя");
+        }
+        return newUser;
+    }
+
+    private void setBusy(boolean busy, String message) {
+        loginButton.setDisable(busy);
+        registerButton.setDisable(busy);
+        if (busy) {
+            errorLabel.setText(message);
+            errorLabel.setStyle("-fx-text-fill: #5e6c84; -fx-font-size: 14;");
+            errorLabel.setVisible(true);
+        } else {
+            errorLabel.setVisible(false);
         }
     }
 
@@ -131,13 +175,15 @@ public class LoginController {
     private void openMainWindow(User user) {
         try {
             System.out.println("Открываем главное окно для пользователя: " + user.getUsername());
+            Bootstrap.Session session = Bootstrap.prefetch(user);
             FXMLLoader loader = new FXMLLoader(getClass().getResource("/com/example/projectflow/main.fxml"));
             Parent root = loader.load();
             MainController controller = loader.getController();
-            controller.setCurrentUser(user);
+            controller.setCurrentUser(user, session);
             Stage mainStage = new Stage();
             mainStage.setTitle("ProjectFlow - " + user.getUsername());
             setupMainWindow(mainStage, root);
+            mainStage.setOnHidden(event -> controller.dispose());
             Stage loginStage = (Stage) usernameField.getScene().getWindow();
             loginStage.close();
             mainStage.show();
@@ -166,6 +212,7 @@ public class LoginController {
         mainStage.setY(centerY);
         mainStage.setOnCloseRequest(event -> {
             System.out.println("Закрытие главного окна...");
+            TaskWriteBehind.getInstance().flush();
             DatabaseConnection.clearCurrentUser();
             DatabaseConnection.closeConnection();
         });
@@ -1,18 +1,27 @@
 package controllers;
 
+import javafx.application.Platform;
 import javafx.fxml.FXML;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.layout.GridPane;
 import javafx.scene.layout.HBox;
 import javafx.scene.layout.VBox;
+import models.Board;
 import models.Column;
 import models.Project;
 import models.Task;
+import models.TaskChanges;
 import models.User;
+import dao.AsyncDAO;
+import dao.BoardPoller;
+import dao.Bootstrap;
 import dao.ColumnDAO;
 import dao.ProjectDAO;
 import dao.TaskDAO;
+import dao.TaskWriteBehind;
+import dao.TaskRepository;
 import dao.DatabaseConnection;
+import utils.FxAsync;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
 import javafx.scene.Node;
@@ -26,12 +35,16 @@ import javafx.geometry.Rectangle2D;
 import javafx.scene.paint.Color;
 import javafx.stage.Window;
 import java.io.IOException;
+import java.sql.SQLException;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
-import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
 public class MainController {
 
@@ -50,10 +63,27 @@ public class MainController {
 
     private User currentUser;
     private Project currentProject;
+    private Bootstrap.Session session;
     private boolean showArchive = false;
     private ProjectDAO projectDAO = new ProjectDAO();
     private ColumnDAO columnDAO = new ColumnDAO();
     private TaskDAO taskDAO = new TaskDAO();
+    private final AsyncDAO asyncDAO = new AsyncDAO();
+    private final TaskRepository taskRepository = TaskRepository.getInstance();
+    private final BoardPoller boardPoller = new BoardPoller(changes -> Platform.runLater(() -> applyRemoteChanges(changes)));
+    private Board currentBoard;
+    private BoardReconciler boardReconciler;
+    private final RefreshScheduler refreshScheduler = new RefreshScheduler(this::loadColumns, this::performRefresh);
+    private boolean boardDirty;
+    private static final int ARCHIVE_PAGE_SIZE = 50;
+    private static final int ARCHIVE_PREFETCH_ROWS = 10;
+    private final Map<Integer, String> archiveColumnTitles = new HashMap<>();
+    private ListView<Task> archiveList;
+    private Label archiveCountLabel;
+    private int archiveCount;
+    private boolean archiveHasMore;
+    private boolean archiveLoading;
+    private int boardLoadGeneration = 0;
 
     private static final DateTimeFormatter DATE_FORMATTER =
             DateTimeFormatter.ofPattern("dd.MM.yyyy HH:mm");
@@ -61,6 +91,7 @@ public class MainController {
     @FXML
     public void initialize() {
         System.out.println("MainController инициализирован");
+        boardReconciler = new BoardReconciler(kanbanBoard, this::createColumnView, this::createColumnButton);
         setupToolbarButtons();
         setupProjectTitleClick();
         setupNotificationButton();
@@ -138,6 +169,21 @@ public class MainController {
             showInformation("Уведомления", "Нет активного проекта");
             return;
         }
+        int projectId = currentProject.getId();
+        if (taskRepository.isLoaded(projectId)) {
+            showTodayTasks();
+            return;
+        }
+        FxAsync.onFxThread(asyncDAO.loadBoard(projectId), board -> {
+            if (currentProject == null || currentProject.getId() != projectId) return;
+            if (!taskRepository.isLoaded(projectId)) {
+                taskRepository.load(board);
+            }
+            showTodayTasks();
+        }, error -> showError("Не удалось загрузить задачи на сегодня"));
+    }
+
+    private void showTodayTasks() {
         List<Task> todayTasks = getTodayTasks();
         if (todayTasks.isEmpty()) {
             showInformation("Уведомления", "На сегодня задач нет!");
@@ -151,7 +197,7 @@ public class MainController {
         menu.getItems().add(headerItem);
         menu.getItems().add(new SeparatorMenuItem());
         for (Task task : todayTasks) {
-            Column column = columnDAO.findById(task.getColumnId());
+            Column column = taskRepository.findColumn(task.getColumnId());
             String columnName = column != null ? column.getTitle() : "Неизвестно";
             String displayText = "⚡ " + task.getTitle() + " → " + columnName;
             MenuItem taskItem = new MenuItem(displayText);
@@ -164,15 +210,10 @@ public class MainController {
 
     private List<Task> getTodayTasks() {
         if (currentProject == null) return new ArrayList<>();
-        LocalDate today = LocalDate.now();
         List<Task> todayTasks = new ArrayList<>();
-        List<Task> allTasks = taskDAO.findByProjectId(currentProject.getId());
-        for (Task task : allTasks) {
-            if (task.getDueDate() != null && !task.isCompleted()) {
-                long daysUntil = ChronoUnit.DAYS.between(today, task.getDueDate());
-                if (daysUntil == 0) {
-                    todayTasks.add(task);
-                }
+        for (Task task : taskRepository.findDueOn(LocalDate.now())) {
+            if (!task.isCompleted()) {
+                todayTasks.add(task);
             }
         }
         return todayTasks;
@@ -188,11 +229,19 @@ public class MainController {
     public void loadProject() {
         if (currentProject == null) return;
         projectTitleLabel.setText(currentProject.getTitle());
+        if (currentUser != null) {
+            Bootstrap.rememberLastProject(currentUser.getId(), currentProject.getId());
+        }
         loadColumns();
     }
 
     public void setCurrentUser(User user) {
+        setCurrentUser(user, null);
+    }
+
+    public void setCurrentUser(User user, Bootstrap.Session session) {
         this.currentUser = user;
+        this.session = session;
         if (user != null && userMenuBtn != null) {
             userMenuBtn.setText(user.getUsername().substring(0, 1).toUpperCase());
         }
@@ -201,66 +250,151 @@ public class MainController {
 
     private void loadProjects() {
         if (currentUser == null) return;
-        List<Project> projects = projectDAO.findByUserId(currentUser.getId());
-        if (!projects.isEmpty()) {
-            currentProject = projects.get(0);
-            loadProject();
-        } else {
-            createDefaultProject();
+        projectTitleLabel.setText("Загрузка...");
+        CompletableFuture<List<Project>> projectsFuture = session != null ? session.getProjects()
+                : asyncDAO.findProjectsByUserId(currentUser.getId());
+        FxAsync.onFxThread(projectsFuture, projects -> {
+            if (!projects.isEmpty()) {
+                currentProject = pickStartProject(projects);
+                loadProject();
+            } else {
+                createDefaultProject();
+            }
+        }, error -> showError("Ошибка загрузки проектов: " + error.getMessage()));
+    }
+
+    private Project pickStartProject(List<Project> projects) {
+        int lastProjectId = session != null ? session.getLastProjectId()
+                : Bootstrap.getLastProjectId(currentUser.getId());
+        for (Project project : projects) {
+            if (project.getId() == lastProjectId) {
+                return project;
+            }
         }
+        return projects.get(0);
     }
 
     private void createDefaultProject() {
         Project project = new Project(currentUser.getId(), "Моя первая доска", "Добро пожаловать в ProjectFlow!");
         project.setColor("#026aa7");
-        if (projectDAO.create(project)) {
+        boolean created;
+        try {
+            created = DatabaseConnection.inTransaction(() -> {
+                if (!projectDAO.create(project) || !columnDAO.createAll(createDefaultColumns(project.getId()))) {
+                    DatabaseConnection.setRollbackOnly();
+                    return false;
+                }
+                return true;
+            });
+        } catch (SQLException e) {
+            created = false;
+        }
+        if (created) {
             currentProject = project;
             loadProject();
-            createDefaultColumns();
+        } else {
+            showError("Не удалось создать доску");
         }
     }
 
-    private void createDefaultColumns() {
+    private List<Column> createDefaultColumns(int projectId) {
         String[] titles = {"К выполнению", "В процессе", "На проверке", "Готово"};
         String[] colors = {"#eb5a46", "#ff9f1a", "#f2d600", "#61bd4f"};
+        List<Column> columns = new ArrayList<>();
         for (int i = 0; i < titles.length; i++) {
-            Column column = new Column(currentProject.getId(), titles[i], i);
+            Column column = new Column(projectId, titles[i], i);
             column.setColor(colors[i]);
-            columnDAO.create(column);
+            columns.add(column);
         }
-        loadColumns();
+        return columns;
     }
 
     public void loadColumns() {
         if (kanbanBoard == null) return;
-        kanbanBoard.getChildren().clear();
-        if (currentProject == null) return;
+        refreshScheduler.discard();
+        int generation = ++boardLoadGeneration;
+        currentBoard = null;
+        boardDirty = false;
+        if (currentProject == null) {
+            boardPoller.stop();
+            boardReconciler.clear();
+            return;
+        }
         System.out.println("Загрузка столбцов. Режим архива: " + showArchive);
         if (showArchive) {
-            loadArchivedTasks();
+            boardPoller.stop();
+            boardReconciler.clear();
+            loadArchivedTasks(generation);
             return;
         }
-        List<Column> columns = columnDAO.findByProjectId(currentProject.getId());
-        System.out.println("Найдено активных колонок: " + columns.size());
-        for (Column column : columns) {
-            try {
-                FXMLLoader loader = new FXMLLoader(getClass().getResource("/com/example/projectflow/column.fxml"));
-                VBox columnBox = loader.load();
-                ColumnController controller = loader.getController();
-                controller.setColumn(column, this);
-                kanbanBoard.getChildren().add(columnBox);
-            } catch (IOException e) {
-                e.printStackTrace();
-                createSimpleColumn(column);
-            }
+        showBoardLoading();
+        CompletableFuture<Board> boardFuture = session != null ? session.takeBoard(currentProject.getId()) : null;
+        if (boardFuture == null) {
+            boardFuture = asyncDAO.loadBoard(currentProject.getId());
         }
-        addCreateColumnButton();
+        FxAsync.onFxThread(boardFuture, board -> {
+            if (generation != boardLoadGeneration) return;
+            taskRepository.load(board);
+            boardPoller.start(board.getProjectId(), board.getSyncedAt());
+            renderBoard(board);
+        }, error -> {
+            if (generation != boardLoadGeneration) return;
+            kanbanBoard.setOpacity(1.0);
+            showError("Ошибка загрузки доски: " + error.getMessage());
+        });
     }
 
-    private void loadArchivedTasks() {
+    private void showBoardLoading() {
+        if (kanbanBoard.getChildren().isEmpty()) {
+            Label loadingLabel = new Label("⏳ Загрузка доски...");
+            loadingLabel.setStyle("-fx-text-fill: white; -fx-font-size: 16; -fx-padding: 20;");
+            kanbanBoard.getChildren().add(loadingLabel);
+        } else {
+            kanbanBoard.setOpacity(0.6);
+        }
+    }
+
+    private void applyRemoteChanges(TaskChanges changes) {
+        if (showArchive || currentProject == null || currentBoard == null
+                || changes.getProjectId() != currentProject.getId()) {
+            return;
+        }
+        int applied = taskRepository.applyChanges(changes);
+        if (applied < 0) {
+            loadColumns();
+            return;
+        }
+        if (applied > 0 || boardDirty) {
+            boardDirty = false;
+            System.out.println("Дельта-обновление доски, изменено задач: " + applied);
+            renderBoard(taskRepository.toBoard());
+        }
+    }
+
+    private void renderBoard(Board board) {
+        currentBoard = board;
+        kanbanBoard.setOpacity(1.0);
+        System.out.println("Найдено активных колонок: " + board.getColumns().size() +
+                ", задач: " + board.getTaskCount());
+        System.out.println("Сверка доски: " + boardReconciler.reconcile(board));
+    }
+
+    private BoardReconciler.ColumnView createColumnView(Column column, Board board) {
+        try {
+            FXMLLoader loader = new FXMLLoader(getClass().getResource("/com/example/projectflow/column.fxml"));
+            VBox columnBox = loader.load();
+            ColumnController controller = loader.getController();
+            controller.setColumn(column, board, this);
+            return new BoardReconciler.ColumnView(columnBox, controller);
+        } catch (IOException e) {
+            e.printStackTrace();
+            return new BoardReconciler.ColumnView(createSimpleColumn(column, board.getTasks(column.getId())), null);
+        }
+    }
+
+    private void loadArchivedTasks(int generation) {
         System.out.println("Загрузка архивных задач для проекта ID: " + currentProject.getId());
-        List<Task> archivedTasks = taskDAO.findArchivedTasksByProjectId(currentProject.getId());
-        System.out.println("Найдено архивных задач: " + archivedTasks.size());
+        int projectId = currentProject.getId();
         VBox archiveHeader = new VBox(10);
         archiveHeader.setPadding(new Insets(20, 20, 15, 20));
         archiveHeader.setStyle("-fx-background-color: white; -fx-background-radius: 8; -fx-effect: dropshadow(gaussian, rgba(0,0,0,0.1), 4, 0, 0, 2);");
@@ -269,36 +403,118 @@ public class MainController {
         archiveTitle.setStyle("-fx-font-size: 24; -fx-font-weight: bold; -fx-text-fill: #172b4d;");
         Label archiveInfo = new Label("Здесь отображаются все архивированные задачи проекта");
         archiveInfo.setStyle("-fx-text-fill: #5e6c84; -fx-font-size: 14;");
-        Label taskCountLabel = new Label("Всего задач в архиве: " + archivedTasks.size());
-        taskCountLabel.setStyle("-fx-text-fill: #0079bf; -fx-font-weight: bold; -fx-font-size: 16;");
-        archiveHeader.getChildren().addAll(archiveTitle, archiveInfo, taskCountLabel);
+        archiveCountLabel = new Label("Всего задач в архиве: ...");
+        archiveCountLabel.setStyle("-fx-text-fill: #0079bf; -fx-font-weight: bold; -fx-font-size: 16;");
+        archiveHeader.getChildren().addAll(archiveTitle, archiveInfo, archiveCountLabel);
         kanbanBoard.getChildren().add(archiveHeader);
-        if (archivedTasks.isEmpty()) {
-            VBox emptyArchiveBox = new VBox(20);
-            emptyArchiveBox.setPadding(new Insets(40, 20, 20, 20));
-            emptyArchiveBox.setAlignment(Pos.CENTER);
-            Label emptyLabel = new Label("📭 Архив пуст");
-            emptyLabel.setStyle("-fx-font-size: 18; -fx-text-fill: #5e6c84;");
-            Label hintLabel = new Label("Чтобы добавить задачу в архив, нажмите на кнопку '🗑️ Архивировать' \nв контекстном меню задачи на основной доске");
-            hintLabel.setStyle("-fx-text-fill: #5e6c84; -fx-font-size: 14; -fx-alignment: center;");
-            hintLabel.setWrapText(true);
-            emptyArchiveBox.getChildren().addAll(emptyLabel, hintLabel);
-            kanbanBoard.getChildren().add(emptyArchiveBox);
+
+        archiveList = new ListView<>();
+        archiveList.setPrefWidth(800);
+        if (kanbanBoard.getScene() != null) {
+            archiveList.prefHeightProperty().bind(kanbanBoard.getScene().heightProperty().subtract(180));
+        } else {
+            archiveList.setPrefHeight(600);
+        }
+        archiveList.setStyle("-fx-background-color: #f8f9fa; -fx-background-radius: 8;");
+        archiveList.setCellFactory(list -> new ArchivedTaskCell());
+        archiveList.setPlaceholder(new Label("⏳ Загрузка архива..."));
+        archiveHasMore = false;
+        archiveLoading = true;
+        kanbanBoard.getChildren().add(archiveList);
+
+        FxAsync.onFxThread(asyncDAO.countArchivedTasks(projectId), count -> {
+            if (generation != boardLoadGeneration) return;
+            archiveCount = count;
+            updateArchiveCount();
+        });
+        FxAsync.onFxThread(asyncDAO.findAllColumnsByProjectId(projectId), columns -> {
+            if (generation != boardLoadGeneration) return;
+            archiveColumnTitles.clear();
+            for (Column column : columns) {
+                archiveColumnTitles.put(column.getId(), column.getTitle());
+            }
+            archiveLoading = false;
+            loadNextArchivePage(generation);
+        }, error -> {
+            if (generation != boardLoadGeneration) return;
+            showError("Ошибка загрузки архива: " + error.getMessage());
+        });
+    }
+
+    private void loadNextArchivePage(int generation) {
+        if (archiveLoading || currentProject == null) return;
+        archiveLoading = true;
+        List<Task> items = archiveList.getItems();
+        Task after = items.isEmpty() ? null : items.get(items.size() - 1);
+        FxAsync.onFxThread(asyncDAO.findArchivedPage(currentProject.getId(), after, ARCHIVE_PAGE_SIZE), page -> {
+            if (generation != boardLoadGeneration) return;
+            archiveLoading = false;
+            archiveHasMore = page.size() == ARCHIVE_PAGE_SIZE;
+            archiveList.getItems().addAll(page);
+            if (archiveList.getItems().isEmpty()) {
+                archiveList.setPlaceholder(createEmptyArchivePlaceholder());
+            }
+        }, error -> {
+            if (generation != boardLoadGeneration) return;
+            archiveLoading = false;
+            showError("Ошибка загрузки архива: " + error.getMessage());
+        });
+    }
+
+    private void updateArchiveCount() {
+        if (archiveCountLabel != null) {
+            archiveCountLabel.setText("Всего задач в архиве: " + archiveCount);
+        }
+    }
+
+    private VBox createEmptyArchivePlaceholder() {
+        VBox emptyArchiveBox = new VBox(20);
+        emptyArchiveBox.setPadding(new Insets(40, 20, 20, 20));
+        emptyArchiveBox.setAlignment(Pos.CENTER);
+        Label emptyLabel = new Label("📭 Архив пуст");
+        emptyLabel.setStyle("-fx-font-size: 18; -fx-text-fill: #5e6c84;");
+        Label hintLabel = new Label("Чтобы добавить задачу в архив, нажмите на кнопку '🗑️ Архивировать' \nв контекстном меню задачи на основной доске");
+        hintLabel.setStyle("-fx-text-fill: #5e6c84; -fx-font-size: 14; -fx-alignment: center;");
+        hintLabel.setWrapText(true);
+        emptyArchiveBox.getChildren().addAll(emptyLabel, hintLabel);
+        return emptyArchiveBox;
+    }
+
+    private void removeFromArchive(Task task) {
+        if (archiveList == null || !archiveList.getItems().remove(task)) {
+            loadColumns();
             return;
         }
-        VBox archivedTasksContainer = new VBox(10);
-        archivedTasksContainer.setPadding(new Insets(20, 20, 20, 40));
-        archivedTasksContainer.setStyle("-fx-background-color: #f8f9fa; -fx-background-radius: 8;");
-        Label tasksHeader = new Label("Архивированные задачи:");
-        tasksHeader.setStyle("-fx-font-size: 18; -fx-font-weight: bold; -fx-text-fill: #172b4d; -fx-padding: 0 0 10 0;");
-        archivedTasksContainer.getChildren().add(tasksHeader);
-        for (Task task : archivedTasks) {
-            VBox taskCard = createArchivedTaskCard(task);
-            archivedTasksContainer.getChildren().add(taskCard);
+        archiveCount = Math.max(0, archiveCount - 1);
+        updateArchiveCount();
+        if (archiveList.getItems().isEmpty()) {
+            if (archiveHasMore) {
+                loadNextArchivePage(boardLoadGeneration);
+            } else {
+                archiveList.setPlaceholder(createEmptyArchivePlaceholder());
+            }
+        }
+    }
+
+    private class ArchivedTaskCell extends ListCell<Task> {
+        ArchivedTaskCell() {
+            setStyle("-fx-background-color: transparent; -fx-padding: 5 10;");
         }
 
-        kanbanBoard.getChildren().add(archivedTasksContainer);
+        @Override
+        protected void updateItem(Task task, boolean empty) {
+            super.updateItem(task, empty);
+            if (empty || task == null) {
+                setGraphic(null);
+                return;
+            }
+            setGraphic(createArchivedTaskCard(task));
+            if (archiveHasMore && getIndex() >= getListView().getItems().size() - ARCHIVE_PREFETCH_ROWS) {
+                loadNextArchivePage(boardLoadGeneration);
+            }
+        }
     }
+
     private VBox createArchivedTaskCard(Task task) {
         VBox taskCard = new VBox(10);
         taskCard.setPadding(new Insets(15));
@@ -332,8 +548,8 @@ public class MainController {
         descriptionLabel.setStyle("-fx-text-fill: #5e6c84; -fx-font-size: 14;");
         descriptionLabel.setWrapText(true);
         descriptionLabel.setMaxWidth(700);
-        Column column = columnDAO.findById(task.getColumnId());
-        String columnInfo = column != null ? "Исходная колонка: " + column.getTitle() : "Колонка не найдена";
+        String columnTitle = archiveColumnTitles.get(task.getColumnId());
+        String columnInfo = columnTitle != null ? "Исходная колонка: " + columnTitle : "Колонка не найдена";
         Label columnLabel = new Label(columnInfo);
         columnLabel.setStyle("-fx-text-fill: #5e6c84; -fx-font-size: 12; -fx-font-style: italic;");
         HBox actionsRow = new HBox(10);
@@ -359,12 +575,14 @@ public class MainController {
         confirmAlert.setContentText("Задача '" + task.getTitle() + "' будет возвращена на исходную доску.");
         confirmAlert.showAndWait().ifPresent(response -> {
             if (response == ButtonType.OK) {
-                if (taskDAO.restoreTask(task.getId())) {
-                    showSuccess("Задача восстановлена: " + task.getTitle());
-                    loadColumns(); // Обновляем вид
-                } else {
-                    showError("Ошибка при восстановлении задачи");
-                }
+                FxAsync.onFxThread(asyncDAO.restoreTask(task.getId()), restored -> {
+                    if (restored) {
+                        showSuccess("Задача восстановлена: " + task.getTitle());
+                        removeFromArchive(task);
+                    } else {
+                        showError("Ошибка при восстановлении задачи");
+                    }
+                }, error -> showError("Ошибка при восстановлении задачи"));
             }
         });
     }
@@ -376,12 +594,14 @@ public class MainController {
         confirmAlert.setContentText("Задача '" + task.getTitle() + "' будет удалена без возможности восстановления.\n\nЭто действие нельзя отменить!");
         confirmAlert.showAndWait().ifPresent(response -> {
             if (response == ButtonType.OK) {
-                if (taskDAO.delete(task.getId())) {
-                    showSuccess("Задача удалена: " + task.getTitle());
-                    loadColumns(); // Обновляем вид
-                } else {
-                    showError("Ошибка при удалении задачи");
-                }
+                FxAsync.onFxThread(asyncDAO.deleteTask(task.getId()), deleted -> {
+                    if (deleted) {
+                        showSuccess("Задача удалена: " + task.getTitle());
+                        removeFromArchive(task);
+                    } else {
+                        showError("Ошибка при удалении задачи");
+                    }
+                }, error -> showError("Ошибка при удалении задачи"));
             }
         });
     }
@@ -410,7 +630,7 @@ public class MainController {
         return priority == Task.Priority.MEDIUM ? "#172b4d" : "white";
     }
 
-    private void createSimpleColumn(Column column) {
+    private Node createSimpleColumn(Column column, List<Task> tasks) {
         VBox columnBox = new VBox(10);
         columnBox.setPrefWidth(272);
         columnBox.setStyle("-fx-background-color: #ebecf0; -fx-background-radius: 3;");
@@ -418,7 +638,6 @@ public class MainController {
         Label titleLabel = new Label(column.getTitle());
         titleLabel.setStyle("-fx-font-weight: bold; -fx-font-size: 14;");
         VBox tasksContainer = new VBox(8);
-        List<Task> tasks = taskDAO.findByColumnId(column.getId());
         for (Task task : tasks) {
             tasksContainer.getChildren().add(createSimpleTaskCard(task));
         }
@@ -426,7 +645,7 @@ public class MainController {
         addTaskBtn.setStyle("-fx-background-color: transparent; -fx-text-fill: #5e6c84;");
         addTaskBtn.setOnAction(e -> showNewTaskDialog(column));
         columnBox.getChildren().addAll(titleLabel, tasksContainer, addTaskBtn);
-        kanbanBoard.getChildren().add(columnBox);
+        return columnBox;
     }
 
     private Node createSimpleTaskCard(Task task) {
@@ -445,7 +664,7 @@ public class MainController {
         return card;
     }
 
-    private void addCreateColumnButton() {
+    private Node createColumnButton() {
         VBox addColumnBox = new VBox();
         addColumnBox.setPrefWidth(272);
         addColumnBox.setStyle("-fx-background-color: rgba(255,255,255,0.1); -fx-background-radius: 3; -fx-cursor: hand;");
@@ -454,7 +673,7 @@ public class MainController {
         Label addLabel = new Label("+ Добавить колонку");
         addLabel.setStyle("-fx-text-fill: white; -fx-font-size: 14;");
         addColumnBox.getChildren().add(addLabel);
-        kanbanBoard.getChildren().add(addColumnBox);
+        return addColumnBox;
     }
 
     public void showNewTaskDialog(Column column) {
@@ -498,7 +717,7 @@ public class MainController {
         });
         dialog.showAndWait().ifPresent(task -> {
             if (taskDAO.create(task)) {
-                loadColumns();
+                markColumnDirty(column);
                 showSuccess("Задача создана!");
             } else {
                 showError("Ошибка создания задачи");
@@ -508,6 +727,21 @@ public class MainController {
 
     public void showEditTaskDialog(Task task) {
         if (task == null) return;
+        if (!task.isSummary()) {
+            openEditTaskDialog(task);
+            return;
+        }
+        FxAsync.onFxThread(asyncDAO.loadTaskDetails(task.getId()), details -> {
+            if (details == null) {
+                showError("Не удалось загрузить задачу");
+                return;
+            }
+            task.applyDetails(details);
+            openEditTaskDialog(task);
+        }, error -> showError("Не удалось загрузить задачу"));
+    }
+
+    private void openEditTaskDialog(Task task) {
         Dialog<Task> dialog = new Dialog<>();
         dialog.setTitle("Редактировать задачу");
         dialog.setHeaderText("Редактирование: " + task.getTitle());
@@ -547,14 +781,14 @@ public class MainController {
             }
             return null;
         });
-        dialog.showAndWait().ifPresent(updatedTask -> {
-            if (taskDAO.update(updatedTask)) {
-                loadColumns();
+        dialog.showAndWait().ifPresent(updatedTask -> FxAsync.onFxThread(asyncDAO.updateTask(updatedTask), updated -> {
+            if (updated) {
+                markTaskDirty(updatedTask);
                 showSuccess("Задача обновлена!");
             } else {
                 showError("Ошибка обновления задачи");
             }
-        });
+        }, error -> showError("Ошибка обновления задачи")));
     }
 
     public void showTaskDetailDialog(Task task) {
@@ -569,8 +803,12 @@ public class MainController {
             stage.initModality(Modality.WINDOW_MODAL);
             stage.initOwner(kanbanBoard.getScene().getWindow());
             stage.setScene(new Scene(root, 800, 600));
-            stage.showAndWait();
-            loadColumns();
+            refreshScheduler.hold();
+            try {
+                stage.showAndWait();
+            } finally {
+                refreshScheduler.release();
+            }
         } catch (IOException e) {
             e.printStackTrace();
             showError("Ошибка загрузки деталей задачи");
@@ -625,8 +863,12 @@ public class MainController {
             LabelsController controller = loader.getController();
             controller.setMainController(this);
             Stage stage = createDialogStage("Управление метками", root, 600, 500);
-            stage.showAndWait();
-            refreshBoard();
+            refreshScheduler.hold();
+            try {
+                stage.showAndWait();
+            } finally {
+                refreshScheduler.release();
+            }
         } catch (Exception e) {
             e.printStackTrace();
             showError("Ошибка загрузки меток: " + e.getMessage());
@@ -692,7 +934,7 @@ public class MainController {
                         columnDAO.getMaxPosition(currentProject.getId()) + 1);
                 column.setColor("#5e6c84");
                 if (columnDAO.create(column)) {
-                    loadColumns();
+                    markColumnDirty(column);
                     showSuccess("Колонка создана!");
                 } else {
                     showError("Ошибка создания колонки");
@@ -744,7 +986,46 @@ public class MainController {
     public User getCurrentUser() { return currentUser; }
     public ColumnDAO getColumnDAO() { return columnDAO; }
     public void setCurrentProject(Project project) { this.currentProject = project; }
-    public void refreshBoard() { loadColumns(); }
+    public void refreshBoard() {
+        refreshScheduler.markDirty();
+    }
+
+    public void reloadBoard() {
+        refreshScheduler.markBoardDirty();
+    }
+
+    public void markColumnDirty(Column column) {
+        refreshScheduler.markColumnDirty(column.getId());
+    }
+
+    public void markTaskDirty(Task task) {
+        refreshScheduler.markTaskDirty(task.getId());
+    }
+
+    private void performRefresh(Set<Integer> columnIds, Set<Integer> taskIds) {
+        if (showArchive || currentProject == null || currentBoard == null
+                || !taskRepository.isLoaded(currentProject.getId())) {
+            loadColumns();
+            return;
+        }
+        if (!columnIds.isEmpty() || !taskIds.isEmpty()) {
+            Board board = taskRepository.toBoard();
+            currentBoard = board;
+            System.out.println("Частичное обновление доски: " + boardReconciler.refresh(board, columnIds, taskIds));
+            return;
+        }
+        boardDirty = true;
+        if (!boardPoller.pollNow()) {
+            loadColumns();
+        }
+    }
+
+    public void dispose() {
+        refreshScheduler.discard();
+        System.out.println("[RefreshScheduler] " + refreshScheduler.getStats());
+        boardPoller.stop();
+        taskRepository.clear();
+    }
 
     @FXML
     public void handleUserMenu() {
@@ -764,6 +1045,8 @@ public class MainController {
         alert.showAndWait().ifPresent(response -> {
             if (response == ButtonType.OK) {
                 try {
+                    dispose();
+                    TaskWriteBehind.getInstance().flush();
                     DatabaseConnection.clearCurrentUser();
                     DatabaseConnection.closeConnection();
                     Stage loginStage = new Stage();
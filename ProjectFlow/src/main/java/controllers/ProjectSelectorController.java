@@ -1,6 +1,7 @@
 package controllers;
 
 import dao.ColumnDAO;
+import dao.DatabaseConnection;
 import dao.ProjectDAO;
 import javafx.fxml.FXML;
 import javafx.geometry.Insets;
@@ -13,6 +14,7 @@ import javafx.scene.shape.Circle;
 import javafx.stage.Stage;
 import models.Project;
 import models.User;
+import java.sql.SQLException;
 import java.util.List;
 
 public class ProjectSelectorController {
@@ -77,8 +79,7 @@ public class ProjectSelectorController {
         alert.setContentText("Все колонки и задачи будут удалены без возможности восстановления!");
         alert.showAndWait().ifPresent(response -> {
             if (response == ButtonType.OK) {
-                columnDAO.deleteByProjectId(project.getId());
-                if (projectDAO.delete(project.getId())) {
+                if (deleteProjectWithColumns(project.getId())) {
                     loadProjects();
                     mainController.showSuccess("Проект удален");
                 }
@@ -86,6 +87,22 @@ public class ProjectSelectorController {
         });
     }
 
+    private boolean deleteProjectWithColumns(int projectId) {
+        try {
+            return DatabaseConnection.inTransaction(() -> {
+                columnDAO.deleteByProjectId(projectId);
+                if (!projectDAO.delete(projectId)) {
+                    DatabaseConnection.setRollbackOnly();
+                    return false;
+                }
+                return true;
+            });
+        } catch (SQLException e) {
+            System.err.println("Ошибка при удалении проекта: " + e.getMessage());
+            return false;
+        }
+    }
+
     @FXML
     public void handleCreateNewProject() {
         Dialog<String> dialog = new Dialog<>();
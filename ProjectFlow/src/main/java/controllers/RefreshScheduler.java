@@ -0,0 +1,112 @@
+package controllers;
+
+import javafx.animation.PauseTransition;
+import javafx.util.Duration;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+public class RefreshScheduler {
+    private static final long COALESCE_MS = Long.getLong("projectflow.refreshCoalesceMs", 50);
+
+    private final Runnable reload;
+    private final BiConsumer<Set<Integer>, Set<Integer>> refresh;
+    private final PauseTransition timer = new PauseTransition(Duration.millis(COALESCE_MS));
+    private final Set<Integer> dirtyColumns = new HashSet<>();
+    private final Set<Integer> dirtyTasks = new HashSet<>();
+    private boolean reloadRequested;
+    private boolean refreshRequested;
+    private int pendingRequests;
+    private int holds;
+
+    private long requestCount;
+    private long flushCount;
+    private long reloadCount;
+    private long discardedCount;
+
+    public RefreshScheduler(Runnable reload, BiConsumer<Set<Integer>, Set<Integer>> refresh) {
+        this.reload = reload;
+        this.refresh = refresh;
+        timer.setOnFinished(event -> flush());
+    }
+
+    public void markBoardDirty() {
+        reloadRequested = true;
+        request();
+    }
+
+    public void markColumnDirty(int columnId) {
+        dirtyColumns.add(columnId);
+        request();
+    }
+
+    public void markTaskDirty(int taskId) {
+        dirtyTasks.add(taskId);
+        request();
+    }
+
+    public void markDirty() {
+        refreshRequested = true;
+        request();
+    }
+
+    public void hold() {
+        holds++;
+        timer.stop();
+    }
+
+    public void release() {
+        if (holds > 0 && --holds == 0 && pendingRequests > 0) {
+            timer.playFromStart();
+        }
+    }
+
+    public void discard() {
+        timer.stop();
+        discardedCount += pendingRequests;
+        reset();
+    }
+
+    public void flush() {
+        timer.stop();
+        if (pendingRequests == 0) return;
+        boolean fullReload = reloadRequested;
+        Set<Integer> columns = refreshRequested ? Set.of() : new HashSet<>(dirtyColumns);
+        Set<Integer> tasks = refreshRequested ? Set.of() : new HashSet<>(dirtyTasks);
+        System.out.println("[RefreshScheduler] " + (fullReload ? "Перезагрузка" : "Обновление") +
+                " доски: запросов=" + pendingRequests + ", колонок=" + dirtyColumns.size() +
+                ", задач=" + dirtyTasks.size());
+        flushCount++;
+        if (fullReload) {
+            reloadCount++;
+        }
+        reset();
+        if (fullReload) {
+            reload.run();
+        } else {
+            refresh.accept(columns, tasks);
+        }
+    }
+
+    public String getStats() {
+        return "запросов=" + requestCount + ", обновлений=" + flushCount + " (перезагрузок " + reloadCount +
+                "), поглощено=" + (requestCount - flushCount - pendingRequests) +
+                " (из них отменено " + discardedCount + ")";
+    }
+
+    private void request() {
+        requestCount++;
+        pendingRequests++;
+        if (holds == 0 && pendingRequests == 1) {
+            timer.playFromStart();
+        }
+    }
+
+    private void reset() {
+        pendingRequests = 0;
+        reloadRequested = false;
+        refreshRequested = false;
+        dirtyColumns.clear();
+        dirtyTasks.clear();
+    }
+}
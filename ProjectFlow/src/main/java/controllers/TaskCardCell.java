@@ -0,0 +1,29 @@
+package controllers;
+
+import models.Task;
+import javafx.scene.control.ListCell;
+
+public class TaskCardCell extends ListCell<Task> {
+    private static final double CARD_INSETS = 18;
+
+    private final TaskCardView view = new TaskCardView();
+    private final ColumnController columnController;
+
+    public TaskCardCell(ColumnController columnController) {
+        this.columnController = columnController;
+        setPrefWidth(0);
+        view.getPriorityIndicator().widthProperty().bind(widthProperty().subtract(CARD_INSETS));
+    }
+
+    @Override
+    protected void updateItem(Task task, boolean empty) {
+        super.updateItem(task, empty);
+        setText(null);
+        if (empty || task == null) {
+            setGraphic(null);
+        } else {
+            view.getController().setTask(task, columnController);
+            setGraphic(view.getRoot());
+        }
+    }
+}
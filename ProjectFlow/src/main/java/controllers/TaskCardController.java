@@ -1,22 +1,37 @@
 package controllers;
 
-import dao.TaskDAO;
-import dao.AttachmentDAO;
+import dao.AsyncDAO;
+import models.LabelRegistry;
 import models.Task;
-import models.Attachment;
+import utils.ColorPalette;
+import utils.FxAsync;
+import javafx.css.PseudoClass;
 import javafx.fxml.FXML;
 import javafx.scene.control.*;
 import javafx.scene.input.MouseEvent;
 import javafx.scene.layout.FlowPane;
 import javafx.scene.layout.HBox;
 import javafx.scene.layout.VBox;
-import javafx.scene.paint.Color;
+import javafx.scene.shape.Circle;
 import javafx.scene.shape.Rectangle;
 import java.time.LocalDate;
 import java.time.temporal.ChronoUnit;
-import java.util.List;
 
 public class TaskCardController {
+    private static final PseudoClass COMPLETED = PseudoClass.getPseudoClass("completed");
+    private static final PseudoClass[] PRIORITY_STATES = {
+            PseudoClass.getPseudoClass("priority-low"),
+            PseudoClass.getPseudoClass("priority-medium"),
+            PseudoClass.getPseudoClass("priority-high"),
+            PseudoClass.getPseudoClass("priority-critical")
+    };
+    private static final PseudoClass[] DUE_STATES = {
+            PseudoClass.getPseudoClass("overdue"),
+            PseudoClass.getPseudoClass("due-today"),
+            PseudoClass.getPseudoClass("due-soon"),
+            PseudoClass.getPseudoClass("due-later")
+    };
+    private static final String[] MEMBER_COLORS = {"#00c2e0", "#ff9f1a", "#61bd4f"};
 
     @FXML private Rectangle priorityIndicator;
     @FXML private Label titleLabel;
@@ -31,19 +46,28 @@ public class TaskCardController {
 
     private Task task;
     private ColumnController columnController;
-    private TaskDAO taskDAO = new TaskDAO();
-    private AttachmentDAO attachmentDAO = new AttachmentDAO();
+    private final AsyncDAO asyncDAO = new AsyncDAO();
 
     @FXML
     public void initialize() {
         taskCardContainer.setOnMouseClicked(event -> handleCardClick());
-        taskCardContainer.setOnMouseEntered(event -> handleMouseEnter());
-        taskCardContainer.setOnMouseExited(event -> handleMouseExit());
-        menuButton.setOnMouseEntered(event -> handleMenuButtonHover());
-        menuButton.setOnMouseExited(event -> handleMenuButtonExit());
         menuButton.setOnAction(event -> handleCardMenu());
     }
 
+    void bindView(TaskCardView view) {
+        taskCardContainer = view.getRoot();
+        priorityIndicator = view.getPriorityIndicator();
+        priorityLabel = view.getPriorityLabel();
+        dueDateIcon = view.getDueDateIcon();
+        dueDateLabel = view.getDueDateLabel();
+        titleLabel = view.getTitleLabel();
+        descriptionLabel = view.getDescriptionLabel();
+        labelsContainer = view.getLabelsContainer();
+        membersContainer = view.getMembersContainer();
+        menuButton = view.getMenuButton();
+        initialize();
+    }
+
     public void setTask(Task task, ColumnController columnController) {
         this.task = task;
         this.columnController = columnController;
@@ -66,34 +90,15 @@ public class TaskCardController {
             descriptionLabel.setManaged(false);
         }
         if (task.getPriority() != null) {
-            String priorityText = getPriorityText(task.getPriority());
-            priorityLabel.setText(priorityText);
-            String priorityColor = getPriorityColor(task.getPriority());
-            String textColor = getPriorityTextColor(task.getPriority());
-            priorityLabel.setStyle(String.format(
-                    "-fx-background-color: %s; -fx-text-fill: %s; " +
-                            "-fx-font-size: 11; -fx-font-weight: bold; " +
-                            "-fx-padding: 2 6; -fx-background-radius: 3;",
-                    priorityColor, textColor
-            ));
-            priorityIndicator.setFill(Color.web(priorityColor));
+            priorityLabel.setText(getPriorityText(task.getPriority()));
         } else {
             priorityLabel.setText("НЕТ");
-            priorityLabel.setStyle(
-                    "-fx-background-color: #5e6c84; -fx-text-fill: white; " +
-                            "-fx-font-size: 11; -fx-font-weight: bold; " +
-                            "-fx-padding: 2 6; -fx-background-radius: 3;"
-            );
-            priorityIndicator.setFill(Color.web("#5e6c84"));
         }
+        setState(PRIORITY_STATES, getPriorityState(task.getPriority()));
+        setState(DUE_STATES, getDueState(task.getDueDate()));
         if (task.getDueDate() != null) {
-            String dueDateText = formatDueDate(task.getDueDate());
-            String dateColor = getDueDateColor(task.getDueDate());
-            String icon = getDueDateIcon(task.getDueDate());
-            dueDateLabel.setText(dueDateText);
-            dueDateLabel.setStyle("-fx-font-size: 11; -fx-text-fill: " + dateColor + ";");
-            dueDateIcon.setText(icon);
-            dueDateIcon.setStyle("-fx-font-size: 11; -fx-text-fill: " + dateColor + ";");
+            dueDateLabel.setText(formatDueDate(task.getDueDate()));
+            dueDateIcon.setText(getDueDateIcon(task.getDueDate()));
             dueDateLabel.setVisible(true);
             dueDateLabel.setManaged(true);
             dueDateIcon.setVisible(true);
@@ -111,14 +116,39 @@ public class TaskCardController {
     }
 
     private void updateAttachmentIndicator() {
-        List<Attachment> attachments = attachmentDAO.findByTaskId(task.getId());
-        if (!attachments.isEmpty()) {
-            Label attachLabel = new Label("📎 " + attachments.size());
-            attachLabel.setStyle("-fx-font-size: 10; -fx-text-fill: #5e6c84;");
+        if (task.getAttachmentCount() > 0) {
+            Label attachLabel = new Label("📎 " + task.getAttachmentCount());
+            attachLabel.getStyleClass().add("attachment-count");
             membersContainer.getChildren().add(0, attachLabel);
         }
     }
 
+    private void setState(PseudoClass[] states, int active) {
+        for (int i = 0; i < states.length; i++) {
+            taskCardContainer.pseudoClassStateChanged(states[i], i == active);
+        }
+    }
+
+    private static int getPriorityState(Task.Priority priority) {
+        if (priority == null) return -1;
+        switch (priority) {
+            case LOW: return 0;
+            case MEDIUM: return 1;
+            case HIGH: return 2;
+            case CRITICAL: return 3;
+            default: return -1;
+        }
+    }
+
+    private static int getDueState(LocalDate date) {
+        if (date == null) return -1;
+        long daysUntil = ChronoUnit.DAYS.between(LocalDate.now(), date);
+        if (daysUntil < 0) return 0;
+        if (daysUntil == 0) return 1;
+        if (daysUntil <= 2) return 2;
+        return 3;
+    }
+
     public String getPriorityText(Task.Priority priority) {
         switch (priority) {
             case LOW: return "НИЗКИЙ";
@@ -129,20 +159,6 @@ public class TaskCardController {
         }
     }
 
-    public String getPriorityColor(Task.Priority priority) {
-        switch (priority) {
-            case LOW: return "#61bd4f";
-            case MEDIUM: return "#f2d600";
-            case HIGH: return "#ff9f1a";
-            case CRITICAL: return "#eb5a46";
-            default: return "#5e6c84";
-        }
-    }
-
-    public String getPriorityTextColor(Task.Priority priority) {
-        return priority == Task.Priority.MEDIUM ? "#172b4d" : "white";
-    }
-
     public String formatDueDate(LocalDate date) {
         if (date == null) return "";
         LocalDate today = LocalDate.now();
@@ -155,16 +171,6 @@ public class TaskCardController {
         return date.toString();
     }
 
-    public String getDueDateColor(LocalDate date) {
-        if (date == null) return "#5e6c84";
-        LocalDate today = LocalDate.now();
-        long daysUntil = ChronoUnit.DAYS.between(today, date);
-        if (daysUntil < 0) return "#eb5a46";
-        if (daysUntil == 0) return "#f2d600";
-        if (daysUntil <= 2) return "#ff9f1a";
-        return "#61bd4f";
-    }
-
     public String getDueDateIcon(LocalDate date) {
         if (date == null) return "📅";
         LocalDate today = LocalDate.now();
@@ -178,60 +184,42 @@ public class TaskCardController {
     private void updateLabels() {
         labelsContainer.getChildren().clear();
         if (task.getPriority() == Task.Priority.CRITICAL) {
-            createLabel("СРОЧНО", "#eb5a46");
+            createLabel("СРОЧНО");
         }
         if (task.getDueDate() != null && task.getDueDate().isBefore(LocalDate.now())) {
-            createLabel("ПРОСРОЧЕНО", "#eb5a46");
+            createLabel("ПРОСРОЧЕНО");
         }
         String title = task.getTitle().toLowerCase();
         if (title.contains("баг") || title.contains("bug")) {
-            createLabel("БАГ", "#eb5a46");
+            createLabel("БАГ");
         }
         if (title.contains("фича") || title.contains("feature")) {
-            createLabel("ФИЧА", "#61bd4f");
+            createLabel("ФИЧА");
         }
         if (title.contains("дизайн") || title.contains("design")) {
-            createLabel("ДИЗАЙН", "#00c2e0");
+            createLabel("ДИЗАЙН");
         }
     }
 
-    private void createLabel(String text, String color) {
+    private void createLabel(String text) {
+        String color = LabelRegistry.getInstance().getColor(text);
         Label label = new Label(text);
-        label.setStyle(String.format(
-                "-fx-background-color: %s; -fx-text-fill: white; " +
-                        "-fx-font-size: 10; -fx-font-weight: bold; " +
-                        "-fx-padding: 1 4; -fx-background-radius: 3;",
-                color
-        ));
+        label.getStyleClass().add("card-label");
+        label.setBackground(ColorPalette.background(color, 3));
         labelsContainer.getChildren().add(label);
     }
 
     private void updateMembers() {
         membersContainer.getChildren().clear();
-        String[] memberColors = {"#00c2e0", "#ff9f1a", "#61bd4f"};
-        for (int i = 0; i < Math.min(2, memberColors.length); i++) {
-            javafx.scene.shape.Circle member = new javafx.scene.shape.Circle(8);
-            member.setFill(Color.web(memberColors[i]));
+        for (int i = 0; i < Math.min(2, MEMBER_COLORS.length); i++) {
+            Circle member = new Circle(8);
+            member.setFill(ColorPalette.color(MEMBER_COLORS[i]));
             membersContainer.getChildren().add(member);
         }
     }
 
     private void updateCardStyle() {
-        if (task.isCompleted()) {
-            taskCardContainer.setStyle(
-                    "-fx-background-color: #f8f9fa; -fx-background-radius: 3; " +
-                            "-fx-border-color: #e9ecef; -fx-border-radius: 3; -fx-border-width: 1; " +
-                            "-fx-padding: 8; -fx-opacity: 0.6; -fx-effect: null;"
-            );
-            titleLabel.setStyle("-fx-font-size: 14; -fx-text-fill: #6c757d; -fx-strikethrough: true;");
-        } else {
-            taskCardContainer.setStyle(
-                    "-fx-background-color: white; -fx-background-radius: 3; " +
-                            "-fx-border-color: #e0e0e0; -fx-border-radius: 3; -fx-border-width: 1; " +
-                            "-fx-padding: 8; -fx-effect: null;"
-            );
-            titleLabel.setStyle("-fx-font-size: 14; -fx-text-fill: #172b4d; -fx-font-weight: normal;");
-        }
+        taskCardContainer.pseudoClassStateChanged(COMPLETED, task.isCompleted());
     }
 
     public void handleCardClick() {
@@ -240,40 +228,6 @@ public class TaskCardController {
         }
     }
 
-    public void handleMouseEnter() {
-        if (task != null && !task.isCompleted()) {
-            taskCardContainer.setStyle(
-                    "-fx-background-color: #f8f9fa; -fx-background-radius: 3; " +
-                            "-fx-border-color: #c1c7d0; -fx-border-radius: 3; -fx-border-width: 1; " +
-                            "-fx-padding: 8; -fx-effect: null;"
-            );
-        }
-    }
-
-    public void handleMouseExit() {
-        updateCardStyle();
-    }
-
-    public void handleMenuButtonHover() {
-        menuButton.setStyle(
-                "-fx-background-color: rgba(0,0,0,0.1); " +
-                        "-fx-text-fill: #5e6c84; " +
-                        "-fx-font-size: 14; " +
-                        "-fx-cursor: hand; " +
-                        "-fx-padding: 0;"
-        );
-    }
-
-    public void handleMenuButtonExit() {
-        menuButton.setStyle(
-                "-fx-background-color: transparent; " +
-                        "-fx-text-fill: transparent; " +
-                        "-fx-font-size: 14; " +
-                        "-fx-cursor: hand; " +
-                        "-fx-padding: 0;"
-        );
-    }
-
     public void handleCardMenu() {
         ContextMenu menu = new ContextMenu();
         MenuItem editItem = new MenuItem("✏️ Редактировать");
@@ -293,11 +247,11 @@ public class TaskCardController {
             alert.setContentText("Удалить задачу '" + task.getTitle() + "' безвозвратно?");
             alert.showAndWait().ifPresent(response -> {
                 if (response == ButtonType.OK) {
-                    if (taskDAO.delete(task.getId())) {
-                        if (columnController != null) {
+                    FxAsync.onFxThread(asyncDAO.deleteTask(task.getId()), deleted -> {
+                        if (deleted && columnController != null) {
                             columnController.refresh();
                         }
-                    }
+                    });
                 }
             });
         });
@@ -312,20 +266,22 @@ public class TaskCardController {
         confirmAlert.setContentText("Задача '" + task.getTitle() + "' будет перемещена в архив.\n\nВы сможете восстановить её позже из раздела 'Архив'.");
         confirmAlert.showAndWait().ifPresent(response -> {
             if (response == ButtonType.OK) {
-                if (taskDAO.archiveTask(task.getId())) {
-                    System.out.println("Задача архивирована: " + task.getTitle() + " (ID: " + task.getId() + ")");
-                    if (columnController != null && columnController.getMainController() != null) {
-                        columnController.getMainController().showSuccess("Задача перемещена в архив: " + task.getTitle());
-                    }
-                    if (columnController != null) {
-                        columnController.refresh();
-                    }
-                } else {
-                    System.out.println("Ошибка при архивации задачи: " + task.getId());
-                    if (columnController != null && columnController.getMainController() != null) {
-                        columnController.getMainController().showError("Ошибка при архивации задачи");
+                FxAsync.onFxThread(asyncDAO.archiveTask(task.getId()), archived -> {
+                    if (archived) {
+                        System.out.println("Задача архивирована: " + task.getTitle() + " (ID: " + task.getId() + ")");
+                        if (columnController != null && columnController.getMainController() != null) {
+                            columnController.getMainController().showSuccess("Задача перемещена в архив: " + task.getTitle());
+                        }
+                        if (columnController != null) {
+                            columnController.refresh();
+                        }
+                    } else {
+                        System.out.println("Ошибка при архивации задачи: " + task.getId());
+                        if (columnController != null && columnController.getMainController() != null) {
+                            columnController.getMainController().showError("Ошибка при архивации задачи");
+                        }
                     }
-                }
+                });
             }
         });
     }
@@ -0,0 +1,97 @@
+package controllers;
+
+import models.Task;
+import javafx.geometry.Pos;
+import javafx.scene.control.Button;
+import javafx.scene.control.Label;
+import javafx.scene.layout.FlowPane;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.Priority;
+import javafx.scene.layout.Region;
+import javafx.scene.layout.VBox;
+import javafx.scene.shape.Rectangle;
+
+public class TaskCardView {
+    private final VBox root = new VBox(6);
+    private final Rectangle priorityIndicator = new Rectangle(280, 3);
+    private final Label priorityLabel = new Label();
+    private final Label dueDateIcon = new Label();
+    private final Label dueDateLabel = new Label();
+    private final Label titleLabel = new Label();
+    private final Label descriptionLabel = new Label();
+    private final FlowPane labelsContainer = new FlowPane(4, 2);
+    private final FlowPane membersContainer = new FlowPane();
+    private final Button menuButton = new Button("⋯");
+    private final TaskCardController controller = new TaskCardController();
+
+    public TaskCardView() {
+        root.getStyleClass().add("task-card");
+        priorityIndicator.setArcWidth(3);
+        priorityIndicator.setArcHeight(3);
+        priorityIndicator.getStyleClass().add("priority-indicator");
+
+        priorityLabel.getStyleClass().add("priority-badge");
+        dueDateIcon.getStyleClass().add("due-date");
+        dueDateLabel.getStyleClass().add("due-date");
+        hide(dueDateIcon);
+        hide(dueDateLabel);
+        HBox dueDateBox = new HBox(2, dueDateIcon, dueDateLabel);
+        dueDateBox.setAlignment(Pos.CENTER_RIGHT);
+        HBox header = new HBox(8, priorityLabel, spacer(), dueDateBox);
+        header.setAlignment(Pos.CENTER_LEFT);
+
+        titleLabel.setWrapText(true);
+        titleLabel.getStyleClass().add("card-title");
+        descriptionLabel.setWrapText(true);
+        descriptionLabel.getStyleClass().add("card-description");
+        hide(descriptionLabel);
+
+        membersContainer.setHgap(2);
+        menuButton.setPrefSize(24, 24);
+        menuButton.getStyleClass().add("card-menu-button");
+        HBox footer = new HBox(6, labelsContainer, spacer(), membersContainer, menuButton);
+        footer.setAlignment(Pos.CENTER_LEFT);
+
+        root.getChildren().addAll(priorityIndicator, header, titleLabel, descriptionLabel, footer);
+        controller.bindView(this);
+    }
+
+    public static TaskCardView create(Task task, ColumnController columnController) {
+        TaskCardView view = new TaskCardView();
+        view.controller.setTask(task, columnController);
+        return view;
+    }
+
+    public VBox getRoot() { return root; }
+
+    public TaskCardController getController() { return controller; }
+
+    Rectangle getPriorityIndicator() { return priorityIndicator; }
+
+    Label getPriorityLabel() { return priorityLabel; }
+
+    Label getDueDateIcon() { return dueDateIcon; }
+
+    Label getDueDateLabel() { return dueDateLabel; }
+
+    Label getTitleLabel() { return titleLabel; }
+
+    Label getDescriptionLabel() { return descriptionLabel; }
+
+    FlowPane getLabelsContainer() { return labelsContainer; }
+
+    FlowPane getMembersContainer() { return membersContainer; }
+
+    Button getMenuButton() { return menuButton; }
+
+    private static Region spacer() {
+        Region region = new Region();
+        HBox.setHgrow(region, Priority.ALWAYS);
+        return region;
+    }
+
+    private static void hide(Label label) {
+        label.setVisible(false);
+        label.setManaged(false);
+    }
+}
@@ -1,11 +1,13 @@
 package controllers;
 
-import dao.TaskDAO;
+import dao.AsyncDAO;
+import dao.TaskWriteBehind;
 import dao.AttachmentDAO;
 import javafx.scene.layout.HBox;
 import models.Task;
 import models.Attachment;
 import utils.FileUtils;
+import utils.FxAsync;
 import javafx.fxml.FXML;
 import javafx.scene.control.*;
 import javafx.scene.layout.VBox;
@@ -36,8 +38,8 @@ public class TaskDetailController {
     @FXML private VBox attachmentsContainer;
 
     private Task task;
-    private TaskDAO taskDAO = new TaskDAO();
     private AttachmentDAO attachmentDAO = new AttachmentDAO();
+    private final AsyncDAO asyncDAO = new AsyncDAO();
     private boolean isModified = false;
     private MainController mainController;
 
@@ -91,8 +93,12 @@ public class TaskDetailController {
                 String savedPath = FileUtils.saveFile(file, task.getId());
                 Attachment attachment = new Attachment(task.getId(), file.getName(), savedPath, getFileType(file));
                 if (attachmentDAO.create(attachment)) {
+                    task.setAttachmentCount(task.getAttachmentCount() + 1);
                     loadAttachments();
                     showSuccess("Файл загружен: " + file.getName());
+                    if (mainController != null) {
+                        mainController.markTaskDirty(task);
+                    }
                 }
             } catch (IOException e) {
                 showError("Ошибка загрузки файла: " + e.getMessage());
@@ -155,8 +161,12 @@ public class TaskDetailController {
                 try {
                     FileUtils.deleteFile(attachment.getFilePath());
                     if (attachmentDAO.delete(attachment.getId())) {
+                        task.setAttachmentCount(Math.max(task.getAttachmentCount() - 1, 0));
                         loadAttachments();
                         showSuccess("Файл удален");
+                        if (mainController != null) {
+                            mainController.markTaskDirty(task);
+                        }
                     }
                 } catch (IOException e) {
                     showError("Ошибка удаления файла: " + e.getMessage());
@@ -168,6 +178,9 @@ public class TaskDetailController {
     public void setTask(Task task) {
         this.task = task;
         updateUI();
+        if (task.isSummary()) {
+            loadDetails(task);
+        }
         loadAttachments();
         if (archiveButton != null) {
             if (task.isArchived()) {
@@ -180,6 +193,26 @@ public class TaskDetailController {
         }
     }
 
+    private void loadDetails(Task summary) {
+        descriptionArea.setDisable(true);
+        if (saveButton != null) {
+            saveButton.setDisable(true);
+        }
+        FxAsync.onFxThread(asyncDAO.loadTaskDetails(summary.getId()), details -> {
+            if (task != summary) return;
+            if (details != null) {
+                summary.applyDetails(details);
+                descriptionArea.setText(task.getDescription() != null ? task.getDescription() : "");
+                descriptionArea.setDisable(false);
+                if (saveButton != null) {
+                    saveButton.setDisable(false);
+                }
+            } else {
+                showError("Не удалось загрузить описание задачи");
+            }
+        }, error -> showError("Не удалось загрузить описание задачи"));
+    }
+
     private void updateUI() {
         if (task == null) return;
         taskTitleLabel.setText(task.getTitle());
@@ -208,11 +241,11 @@ public class TaskDetailController {
     public void handleSave() {
         if (task != null && descriptionArea != null) {
             task.setDescription(descriptionArea.getText());
-            if (taskDAO.update(task)) {
+            if (TaskWriteBehind.getInstance().submit(task)) {
                 showSuccess("Задача сохранена");
                 isModified = false;
                 if (mainController != null) {
-                    mainController.refreshBoard();
+                    mainController.markTaskDirty(task);
                 }
             }
         }
@@ -236,11 +269,11 @@ public class TaskDetailController {
         });
         dialog.showAndWait().ifPresent(date -> {
             task.setDueDate(date);
-            if (taskDAO.update(task)) {
+            if (TaskWriteBehind.getInstance().submit(task)) {
                 updateUI();
                 showSuccess("Срок установлен");
                 if (mainController != null) {
-                    mainController.refreshBoard();
+                    mainController.markTaskDirty(task);
                 }
             }
         });
@@ -250,11 +283,11 @@ public class TaskDetailController {
     public void handleToggleStatus() {
         if (task != null) {
             task.setCompleted(!task.isCompleted());
-            if (taskDAO.update(task)) {
+            if (TaskWriteBehind.getInstance().submit(task)) {
                 updateUI();
                 showSuccess(task.isCompleted() ? "Задача выполнена" : "Задача возвращена в работу");
                 if (mainController != null) {
-                    mainController.refreshBoard();
+                    mainController.markTaskDirty(task);
                 }
             }
         }
@@ -270,13 +303,15 @@ public class TaskDetailController {
             confirmAlert.setContentText("Задача '" + task.getTitle() + "' будет возвращена на исходную доску.");
             confirmAlert.showAndWait().ifPresent(response -> {
                 if (response == ButtonType.OK) {
-                    if (taskDAO.restoreTask(task.getId())) {
-                        showSuccess("Задача восстановлена из архива: " + task.getTitle());
-                        if (mainController != null) {
-                            mainController.refreshBoard();
+                    FxAsync.onFxThread(asyncDAO.restoreTask(task.getId()), restored -> {
+                        if (restored) {
+                            showSuccess("Задача восстановлена из архива: " + task.getTitle());
+                            if (mainController != null) {
+                                mainController.markTaskDirty(task);
+                            }
+                            handleClose();
                         }
-                        handleClose();
-                    }
+                    }, error -> showError("Ошибка при восстановлении задачи"));
                 }
             });
         } else {
@@ -286,13 +321,15 @@ public class TaskDetailController {
             confirmAlert.setContentText("Задача '" + task.getTitle() + "' будет перемещена в архив.\n\nВы сможете восстановить её позже из раздела 'Архив'.");
             confirmAlert.showAndWait().ifPresent(response -> {
                 if (response == ButtonType.OK) {
-                    if (taskDAO.archiveTask(task.getId())) {
-                        showSuccess("Задача перемещена в архив: " + task.getTitle());
-                        if (mainController != null) {
-                            mainController.refreshBoard();
+                    FxAsync.onFxThread(asyncDAO.archiveTask(task.getId()), archived -> {
+                        if (archived) {
+                            showSuccess("Задача перемещена в архив: " + task.getTitle());
+                            if (mainController != null) {
+                                mainController.markTaskDirty(task);
+                            }
+                            handleClose();
                         }
-                        handleClose();
-                    }
+                    }, error -> showError("Ошибка при архивации задачи"));
                 }
             });
         }
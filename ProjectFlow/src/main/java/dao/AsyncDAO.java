@@ -0,0 +1,170 @@
+package dao;
+
+import models.Attachment;
+import models.Board;
+import models.Column;
+import models.Project;
+import models.Task;
+import models.User;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+public class AsyncDAO {
+    private static final int MAX_CONCURRENT_QUERIES = 8;
+    private static final Semaphore permits = new Semaphore(MAX_CONCURRENT_QUERIES);
+    private static ExecutorService executor;
+
+    private final TaskDAO taskDAO = new TaskDAO();
+    private final ColumnDAO columnDAO = new ColumnDAO();
+    private final ProjectDAO projectDAO = new ProjectDAO();
+    private final AttachmentDAO attachmentDAO = new AttachmentDAO();
+    private final BoardDAO boardDAO = new BoardDAO();
+    private final UserDAO userDAO = new UserDAO();
+
+    public static <T> CompletableFuture<T> supply(Supplier<T> work) {
+        return CompletableFuture.supplyAsync(() -> {
+            permits.acquireUninterruptibly();
+            try {
+                return work.get();
+            } finally {
+                permits.release();
+            }
+        }, getExecutor());
+    }
+
+    public static CompletableFuture<Void> run(Runnable work) {
+        return supply(() -> {
+            work.run();
+            return null;
+        });
+    }
+
+    private static synchronized ExecutorService getExecutor() {
+        if (executor == null || executor.isShutdown()) {
+            executor = createExecutor();
+        }
+        return executor;
+    }
+
+    private static ExecutorService createExecutor() {
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            System.out.println("[AsyncDAO] Запросы к БД выполняются в виртуальных потоках");
+            return (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            AtomicInteger counter = new AtomicInteger();
+            ThreadFactory threadFactory = runnable -> {
+                Thread thread = new Thread(runnable, "dao-worker-" + counter.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            };
+            return Executors.newFixedThreadPool(MAX_CONCURRENT_QUERIES, threadFactory);
+        }
+    }
+
+    public static void shutdown() {
+        ExecutorService current;
+        synchronized (AsyncDAO.class) {
+            current = executor;
+            executor = null;
+        }
+        if (current == null) {
+            return;
+        }
+        current.shutdown();
+        try {
+            if (!current.awaitTermination(5, TimeUnit.SECONDS)) {
+                current.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            current.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public CompletableFuture<Board> loadBoard(int projectId) {
+        return supply(() -> boardDAO.loadBoard(projectId));
+    }
+
+    public CompletableFuture<List<Column>> findColumnsByProjectId(int projectId) {
+        return supply(() -> columnDAO.findByProjectId(projectId));
+    }
+
+    public CompletableFuture<List<Task>> findTasksByColumnId(int columnId) {
+        return supply(() -> taskDAO.findByColumnId(columnId));
+    }
+
+    public CompletableFuture<Task> loadTaskDetails(int taskId) {
+        return supply(() -> taskDAO.findDetails(taskId));
+    }
+
+    public CompletableFuture<List<Task>> findTasksByProjectId(int projectId) {
+        return supply(() -> taskDAO.findByProjectId(projectId));
+    }
+
+    public CompletableFuture<List<Task>> findTasksByProjectId(int projectId, Predicate<Task> filter) {
+        return supply(() -> {
+            List<Task> matches = new ArrayList<>();
+            taskDAO.forEachByProjectId(projectId, task -> {
+                if (filter.test(task)) {
+                    matches.add(task);
+                }
+            });
+            return matches;
+        });
+    }
+
+    public CompletableFuture<Boolean> updateTask(Task task) {
+        return supply(() -> taskDAO.update(task));
+    }
+
+    public CompletableFuture<Boolean> archiveTask(int taskId) {
+        return supply(() -> taskDAO.archiveTask(taskId));
+    }
+
+    public CompletableFuture<Boolean> restoreTask(int taskId) {
+        return supply(() -> taskDAO.restoreTask(taskId));
+    }
+
+    public CompletableFuture<Boolean> deleteTask(int taskId) {
+        return supply(() -> taskDAO.delete(taskId));
+    }
+
+    public CompletableFuture<List<Task>> findArchivedPage(int projectId, Task after, int limit) {
+        return supply(() -> taskDAO.findArchivedPage(projectId, after, limit));
+    }
+
+    public CompletableFuture<Integer> countArchivedTasks(int projectId) {
+        return supply(() -> taskDAO.countArchivedByProjectId(projectId));
+    }
+
+    public CompletableFuture<List<Column>> findAllColumnsByProjectId(int projectId) {
+        return supply(() -> columnDAO.findByProjectId(projectId, true));
+    }
+
+    public CompletableFuture<List<Attachment>> findAttachmentsByTaskId(int taskId) {
+        return supply(() -> attachmentDAO.findByTaskId(taskId));
+    }
+
+    public CompletableFuture<List<Project>> findProjectsByUserId(int userId) {
+        return supply(() -> projectDAO.findByUserId(userId));
+    }
+
+    public CompletableFuture<User> findUserByUsername(String username) {
+        return supply(() -> userDAO.findByUsername(username));
+    }
+
+    public CompletableFuture<Boolean> createUser(User user) {
+        return supply(() -> userDAO.create(user));
+    }
+}
@@ -7,12 +7,18 @@ import java.util.ArrayList;
 import java.util.List;
 
 public class AttachmentDAO {
+    static final String FIND_BY_TASK_SQL = "SELECT * FROM attachments WHERE task_id = ? ORDER BY uploaded_at DESC";
+    static final String REPAIR_COUNTS_SQL = "UPDATE tasks SET " +
+            "attachment_count = (SELECT COUNT(*) FROM attachments a WHERE a.task_id = tasks.id), " +
+            "updated_at = CURRENT_TIMESTAMP " +
+            "WHERE attachment_count <> (SELECT COUNT(*) FROM attachments a WHERE a.task_id = tasks.id)";
+    private static final String ADJUST_COUNT_SQL = "UPDATE tasks SET attachment_count = attachment_count + ?, " +
+            "updated_at = CURRENT_TIMESTAMP WHERE id = ?";
 
     public List<Attachment> findByTaskId(int taskId) {
         List<Attachment> attachments = new ArrayList<>();
-        String sql = "SELECT * FROM attachments WHERE task_id = ? ORDER BY uploaded_at DESC";
-        try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
+        try (Connection conn = DatabaseConnection.getReadConnection();
+             PreparedStatement stmt = conn.prepareStatement(FIND_BY_TASK_SQL)) {
             stmt.setInt(1, taskId);
             ResultSet rs = stmt.executeQuery();
             while (rs.next()) {
@@ -26,21 +32,26 @@ public class AttachmentDAO {
 
     public boolean create(Attachment attachment) {
         String sql = "INSERT INTO attachments (task_id, filename, file_path, file_type) VALUES (?, ?, ?, ?)";
-        try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
-            stmt.setInt(1, attachment.getTaskId());
-            stmt.setString(2, attachment.getFilename());
-            stmt.setString(3, attachment.getFilePath());
-            stmt.setString(4, attachment.getFileType());
-            int affected = stmt.executeUpdate();
-            if (affected > 0) {
-                try (ResultSet keys = stmt.getGeneratedKeys()) {
-                    if (keys.next()) {
-                        attachment.setId(keys.getInt(1));
+        try {
+            return DatabaseConnection.inTransaction(() -> {
+                try (Connection conn = DatabaseConnection.getConnection();
+                     PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+                    stmt.setInt(1, attachment.getTaskId());
+                    stmt.setString(2, attachment.getFilename());
+                    stmt.setString(3, attachment.getFilePath());
+                    stmt.setString(4, attachment.getFileType());
+                    if (stmt.executeUpdate() == 0) {
+                        return false;
+                    }
+                    try (ResultSet keys = stmt.getGeneratedKeys()) {
+                        if (keys.next()) {
+                            attachment.setId(keys.getInt(1));
+                        }
                     }
+                    adjustCount(conn, attachment.getTaskId(), 1);
+                    return true;
                 }
-                return true;
-            }
+            });
         } catch (SQLException e) {
             System.err.println("Ошибка создания вложения: " + e.getMessage());
         }
@@ -48,17 +59,56 @@ public class AttachmentDAO {
     }
 
     public boolean delete(int id) {
-        String sql = "DELETE FROM attachments WHERE id = ?";
-        try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-            stmt.setInt(1, id);
-            return stmt.executeUpdate() > 0;
+        try {
+            return DatabaseConnection.inTransaction(() -> {
+                try (Connection conn = DatabaseConnection.getConnection()) {
+                    int taskId;
+                    try (PreparedStatement stmt = conn.prepareStatement("SELECT task_id FROM attachments WHERE id = ?")) {
+                        stmt.setInt(1, id);
+                        ResultSet rs = stmt.executeQuery();
+                        if (!rs.next()) {
+                            return false;
+                        }
+                        taskId = rs.getInt(1);
+                    }
+                    try (PreparedStatement stmt = conn.prepareStatement("DELETE FROM attachments WHERE id = ?")) {
+                        stmt.setInt(1, id);
+                        if (stmt.executeUpdate() == 0) {
+                            return false;
+                        }
+                    }
+                    adjustCount(conn, taskId, -1);
+                    return true;
+                }
+            });
         } catch (SQLException e) {
             System.err.println("Ошибка удаления вложения: " + e.getMessage());
         }
         return false;
     }
 
+    public int repairCounts() {
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(REPAIR_COUNTS_SQL)) {
+            int repaired = stmt.executeUpdate();
+            if (repaired > 0) {
+                System.out.println("[AttachmentDAO] Исправлены счётчики вложений у задач: " + repaired);
+            }
+            return repaired;
+        } catch (SQLException e) {
+            System.err.println("[AttachmentDAO] Ошибка пересчёта счётчиков вложений: " + e.getMessage());
+        }
+        return -1;
+    }
+
+    private static void adjustCount(Connection conn, int taskId, int delta) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(ADJUST_COUNT_SQL)) {
+            stmt.setInt(1, delta);
+            stmt.setInt(2, taskId);
+            stmt.executeUpdate();
+        }
+    }
+
     private Attachment mapResultSetToAttachment(ResultSet rs) throws SQLException {
         Attachment attachment = new Attachment();
         attachment.setId(rs.getInt("id"));
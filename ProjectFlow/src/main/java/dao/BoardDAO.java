@@ -0,0 +1,63 @@
+package dao;
+
+import models.Board;
+import models.Column;
+import models.Task;
+import java.sql.*;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+
+public class BoardDAO {
+    static final String COLUMNS_SQL = "SELECT * FROM columns WHERE project_id = ? AND is_archived = FALSE ORDER BY position";
+    static final String TASKS_SQL = "SELECT " + TaskRowMapper.SUMMARY_COLUMNS + " FROM tasks t " +
+            "JOIN columns c ON t.column_id = c.id " +
+            "WHERE c.project_id = ? AND c.is_archived = FALSE AND t.is_archived = FALSE " +
+            "ORDER BY t.column_id, t.position, t.created_at";
+
+    private final ColumnDAO columnDAO = new ColumnDAO();
+
+    public Board loadBoard(int projectId) {
+        List<Column> columns = new ArrayList<>();
+        Map<Integer, List<Task>> tasksByColumn = new HashMap<>();
+        LocalDateTime syncedAt;
+        try (Connection conn = DatabaseConnection.getReadConnection()) {
+            if (conn == null) {
+                throw new SQLException("нет соединения с базой данных");
+            }
+            syncedAt = TaskDAO.syncWatermark(conn);
+            try (PreparedStatement stmt = conn.prepareStatement(COLUMNS_SQL)) {
+                stmt.setInt(1, projectId);
+                ResultSet rs = stmt.executeQuery();
+                while (rs.next()) {
+                    Column column = columnDAO.mapResultSetToColumn(rs);
+                    columns.add(column);
+                    tasksByColumn.put(column.getId(), new ArrayList<>());
+                }
+            }
+            if (columns.isEmpty()) {
+                Board board = new Board(projectId, columns, tasksByColumn);
+                board.setSyncedAt(syncedAt);
+                return board;
+            }
+            try (PreparedStatement stmt = conn.prepareStatement(TASKS_SQL)) {
+                stmt.setInt(1, projectId);
+                ResultSet rs = stmt.executeQuery();
+                TaskRowMapper mapper = new TaskRowMapper(rs, true);
+                while (rs.next()) {
+                    Task task = mapper.map(rs);
+                    tasksByColumn.computeIfAbsent(task.getColumnId(), id -> new ArrayList<>()).add(task);
+                }
+            }
+        } catch (SQLException e) {
+            System.err.println("Ошибка при загрузке доски: " + e.getMessage());
+            throw new CompletionException(e);
+        }
+        Board board = new Board(projectId, columns, tasksByColumn);
+        board.setSyncedAt(syncedAt);
+        return board;
+    }
+}
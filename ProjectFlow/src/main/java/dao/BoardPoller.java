@@ -0,0 +1,81 @@
+package dao;
+
+import models.TaskChanges;
+import java.time.LocalDateTime;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+public class BoardPoller {
+    private static final long POLL_INTERVAL_MS = Long.getLong("projectflow.pollIntervalMs", 15000);
+
+    private final TaskDAO taskDAO = new TaskDAO();
+    private final Consumer<TaskChanges> listener;
+    private ScheduledExecutorService scheduler;
+    private int projectId;
+    private LocalDateTime watermark;
+
+    public BoardPoller(Consumer<TaskChanges> listener) {
+        this.listener = listener;
+    }
+
+    public synchronized void start(int projectId, LocalDateTime watermark) {
+        this.projectId = projectId;
+        this.watermark = watermark;
+        if (scheduler == null) {
+            scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "board-poller");
+                thread.setDaemon(true);
+                return thread;
+            });
+            if (POLL_INTERVAL_MS > 0) {
+                scheduler.scheduleWithFixedDelay(this::poll, POLL_INTERVAL_MS, POLL_INTERVAL_MS, TimeUnit.MILLISECONDS);
+                System.out.println("[BoardPoller] Фоновая синхронизация доски каждые " + POLL_INTERVAL_MS + " мс");
+            }
+        }
+    }
+
+    public synchronized boolean pollNow() {
+        if (scheduler == null || watermark == null) {
+            return false;
+        }
+        scheduler.execute(this::poll);
+        return true;
+    }
+
+    public synchronized void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+        watermark = null;
+    }
+
+    private void poll() {
+        int polledProjectId;
+        LocalDateTime since;
+        synchronized (this) {
+            polledProjectId = projectId;
+            since = watermark;
+        }
+        if (since == null) {
+            return;
+        }
+        try {
+            TaskChanges changes = taskDAO.findChangedSince(polledProjectId, since);
+            if (changes == null) {
+                return;
+            }
+            synchronized (this) {
+                if (polledProjectId != projectId || since != watermark) {
+                    return;
+                }
+                watermark = changes.getWatermark();
+            }
+            listener.accept(changes);
+        } catch (RuntimeException e) {
+            System.err.println("[BoardPoller] Ошибка синхронизации доски: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package dao;
+
+import models.Board;
+import models.Project;
+import models.User;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.prefs.Preferences;
+
+public class Bootstrap {
+    private static final int WARM_CONNECTIONS = 3;
+    private static final int TOMBSTONE_RETENTION_DAYS = Integer.getInteger("projectflow.tombstoneRetentionDays", 7);
+    private static final boolean REPAIR_ATTACHMENT_COUNTS =
+            Boolean.parseBoolean(System.getProperty("projectflow.repairAttachmentCounts", "false"));
+    private static final String LAST_PROJECT_KEY = "lastProject.";
+    private static CompletableFuture<Boolean> database;
+
+    public static synchronized CompletableFuture<Boolean> startDatabase() {
+        if (database == null || database.isCompletedExceptionally()
+                || (database.isDone() && !database.join())) {
+            database = AsyncDAO.supply(() -> {
+                if (!DatabaseConnection.testConnection()) {
+                    return false;
+                }
+                DatabaseConnection.warmPool(WARM_CONNECTIONS);
+                if (!SchemaMigrator.migrate()) {
+                    System.err.println("[Bootstrap] Миграции схемы не применены, работаем с текущей схемой");
+                } else {
+                    new TaskDAO().purgeTombstones(TOMBSTONE_RETENTION_DAYS);
+                    if (REPAIR_ATTACHMENT_COUNTS) {
+                        new AttachmentDAO().repairCounts();
+                    }
+                }
+                return true;
+            });
+        }
+        return database;
+    }
+
+    public static Session prefetch(User user) {
+        AsyncDAO asyncDAO = new AsyncDAO();
+        int lastProjectId = getLastProjectId(user.getId());
+        CompletableFuture<List<Project>> projects = asyncDAO.findProjectsByUserId(user.getId());
+        CompletableFuture<Board> board = lastProjectId > 0 ? asyncDAO.loadBoard(lastProjectId) : null;
+        System.out.println("[Bootstrap] Предзагрузка проектов" +
+                (board != null ? " и доски ID " + lastProjectId : "") + " для " + user.getUsername());
+        return new Session(projects, lastProjectId, board);
+    }
+
+    public static int getLastProjectId(int userId) {
+        return preferences().getInt(LAST_PROJECT_KEY + userId, 0);
+    }
+
+    public static void rememberLastProject(int userId, int projectId) {
+        if (getLastProjectId(userId) != projectId) {
+            preferences().putInt(LAST_PROJECT_KEY + userId, projectId);
+        }
+    }
+
+    private static Preferences preferences() {
+        return Preferences.userNodeForPackage(Bootstrap.class);
+    }
+
+    public static class Session {
+        private final CompletableFuture<List<Project>> projects;
+        private final int lastProjectId;
+        private CompletableFuture<Board> board;
+
+        Session(CompletableFuture<List<Project>> projects, int lastProjectId, CompletableFuture<Board> board) {
+            this.projects = projects;
+            this.lastProjectId = lastProjectId;
+            this.board = board;
+        }
+
+        public CompletableFuture<List<Project>> getProjects() {
+            return projects;
+        }
+
+        public int getLastProjectId() {
+            return lastProjectId;
+        }
+
+        public CompletableFuture<Board> takeBoard(int projectId) {
+            if (board == null || projectId != lastProjectId) {
+                return null;
+            }
+            CompletableFuture<Board> prefetched = board;
+            board = null;
+            return prefetched.isCompletedExceptionally() ? null : prefetched;
+        }
+    }
+}
@@ -7,6 +7,9 @@ import java.util.ArrayList;
 import java.util.List;
 
 public class ColumnDAO {
+    private static final String INSERT_SQL = "INSERT INTO columns (project_id, title, color, position, is_archived) VALUES (?, ?, ?, ?, ?)";
+    private static final String UPDATE_POSITION_SQL = "UPDATE columns SET position = ? WHERE id = ?";
+    private final TaskRepository repository = TaskRepository.getInstance();
 
     public List<Column> findByProjectId(int projectId) {
         return findByProjectId(projectId, false);
@@ -17,7 +20,7 @@ public class ColumnDAO {
         String sql = "SELECT * FROM columns WHERE project_id = ? " +
                 (includeArchived ? "" : "AND is_archived = FALSE ") +
                 "ORDER BY position";
-        try (Connection conn = DatabaseConnection.getConnection();
+        try (Connection conn = DatabaseConnection.getReadConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
             stmt.setInt(1, projectId);
             ResultSet rs = stmt.executeQuery();
@@ -34,7 +37,7 @@ public class ColumnDAO {
     public List<Column> findArchivedByProjectId(int projectId) {
         List<Column> columns = new ArrayList<>();
         String sql = "SELECT * FROM columns WHERE project_id = ? AND is_archived = TRUE ORDER BY archived_at DESC";
-        try (Connection conn = DatabaseConnection.getConnection();
+        try (Connection conn = DatabaseConnection.getReadConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
             stmt.setInt(1, projectId);
             ResultSet rs = stmt.executeQuery();
@@ -65,14 +68,9 @@ public class ColumnDAO {
     }
 
     public boolean create(Column column) {
-        String sql = "INSERT INTO columns (project_id, title, color, position, is_archived) VALUES (?, ?, ?, ?, ?)";
         try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
-            stmt.setInt(1, column.getProjectId());
-            stmt.setString(2, column.getTitle());
-            stmt.setString(3, column.getColor());
-            stmt.setInt(4, column.getPosition());
-            stmt.setBoolean(5, column.isArchived());
+             PreparedStatement stmt = conn.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS)) {
+            bindInsert(stmt, column);
             int affectedRows = stmt.executeUpdate();
             if (affectedRows > 0) {
                 try (ResultSet generatedKeys = stmt.getGeneratedKeys()) {
@@ -80,6 +78,7 @@ public class ColumnDAO {
                         column.setId(generatedKeys.getInt(1));
                     }
                 }
+                repository.columnSaved(column);
                 return true;
             }
         } catch (SQLException e) {
@@ -89,6 +88,69 @@ public class ColumnDAO {
         return false;
     }
 
+    public boolean createAll(List<Column> columns) {
+        if (columns.isEmpty()) return true;
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            conn.setAutoCommit(false);
+            try (PreparedStatement stmt = conn.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS)) {
+                for (Column column : columns) {
+                    bindInsert(stmt, column);
+                    stmt.addBatch();
+                }
+                stmt.executeBatch();
+                try (ResultSet generatedKeys = stmt.getGeneratedKeys()) {
+                    for (Column column : columns) {
+                        if (!generatedKeys.next()) break;
+                        column.setId(generatedKeys.getInt(1));
+                    }
+                }
+                conn.commit();
+                repository.columnsSaved(columns);
+                return true;
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
+        } catch (SQLException e) {
+            System.err.println("Ошибка при пакетном создании колонок: " + e.getMessage());
+            e.printStackTrace();
+        }
+        return false;
+    }
+
+    public boolean updatePositions(List<Column> columns) {
+        if (columns.isEmpty()) return true;
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            conn.setAutoCommit(false);
+            try (PreparedStatement stmt = conn.prepareStatement(UPDATE_POSITION_SQL)) {
+                for (Column column : columns) {
+                    stmt.setInt(1, column.getPosition());
+                    stmt.setInt(2, column.getId());
+                    stmt.addBatch();
+                }
+                stmt.executeBatch();
+                conn.commit();
+                repository.columnsSaved(columns);
+                return true;
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
+        } catch (SQLException e) {
+            System.err.println("Ошибка при обновлении позиций колонок: " + e.getMessage());
+            e.printStackTrace();
+        }
+        return false;
+    }
+
+    private void bindInsert(PreparedStatement stmt, Column column) throws SQLException {
+        stmt.setInt(1, column.getProjectId());
+        stmt.setString(2, column.getTitle());
+        stmt.setString(3, column.getColor());
+        stmt.setInt(4, column.getPosition());
+        stmt.setBoolean(5, column.isArchived());
+    }
+
     public boolean update(Column column) {
         String sql = "UPDATE columns SET title = ?, color = ?, position = ?, is_archived = ? WHERE id = ?";
         try (Connection conn = DatabaseConnection.getConnection();
@@ -98,7 +160,10 @@ public class ColumnDAO {
             stmt.setInt(3, column.getPosition());
             stmt.setBoolean(4, column.isArchived());
             stmt.setInt(5, column.getId());
-            return stmt.executeUpdate() > 0;
+            if (stmt.executeUpdate() > 0) {
+                repository.columnSaved(column);
+                return true;
+            }
         } catch (SQLException e) {
             System.err.println("Ошибка при обновлении колонки: " + e.getMessage());
             e.printStackTrace();
@@ -111,7 +176,10 @@ public class ColumnDAO {
         try (Connection conn = DatabaseConnection.getConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
             stmt.setInt(1, columnId);
-            return stmt.executeUpdate() > 0;
+            if (stmt.executeUpdate() > 0) {
+                repository.columnRemoved(columnId);
+                return true;
+            }
         } catch (SQLException e) {
             System.err.println("Ошибка при архивации колонки: " + e.getMessage());
             e.printStackTrace();
@@ -124,7 +192,10 @@ public class ColumnDAO {
         try (Connection conn = DatabaseConnection.getConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
             stmt.setInt(1, columnId);
-            return stmt.executeUpdate() > 0;
+            if (stmt.executeUpdate() > 0) {
+                repository.invalidate();
+                return true;
+            }
         } catch (SQLException e) {
             System.err.println("Ошибка при восстановлении колонки: " + e.getMessage());
             e.printStackTrace();
@@ -133,11 +204,20 @@ public class ColumnDAO {
     }
 
     public boolean delete(int id) {
-        String sql = "DELETE FROM columns WHERE id = ?";
-        try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-            stmt.setInt(1, id);
-            return stmt.executeUpdate() > 0;
+        try {
+            boolean deleted = DatabaseConnection.inTransaction(() -> {
+                try (Connection conn = DatabaseConnection.getConnection()) {
+                    TaskDAO.recordTombstones(conn, TaskDAO.TOMBSTONE_COLUMN_SQL, id);
+                    try (PreparedStatement stmt = conn.prepareStatement("DELETE FROM columns WHERE id = ?")) {
+                        stmt.setInt(1, id);
+                        return stmt.executeUpdate() > 0;
+                    }
+                }
+            });
+            if (deleted) {
+                repository.columnRemoved(id);
+                return true;
+            }
         } catch (SQLException e) {
             System.err.println("Ошибка при удалении колонки: " + e.getMessage());
             e.printStackTrace();
@@ -150,7 +230,10 @@ public class ColumnDAO {
         try (Connection conn = DatabaseConnection.getConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
             stmt.setInt(1, projectId);
-            return stmt.executeUpdate() > 0;
+            if (stmt.executeUpdate() > 0) {
+                repository.invalidate();
+                return true;
+            }
         } catch (SQLException e) {
             System.err.println("Ошибка при удалении колонок проекта: " + e.getMessage());
             e.printStackTrace();
@@ -165,7 +248,7 @@ public class ColumnDAO {
     public int countColumnsByProjectId(int projectId, boolean includeArchived) {
         String sql = "SELECT COUNT(*) as count FROM columns WHERE project_id = ? " +
                 (includeArchived ? "" : "AND is_archived = FALSE");
-        try (Connection conn = DatabaseConnection.getConnection();
+        try (Connection conn = DatabaseConnection.getReadConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
             stmt.setInt(1, projectId);
             ResultSet rs = stmt.executeQuery();
@@ -195,7 +278,7 @@ public class ColumnDAO {
         return 0;
     }
 
-    private Column mapResultSetToColumn(ResultSet rs) throws SQLException {
+    Column mapResultSetToColumn(ResultSet rs) throws SQLException {
         Column column = new Column();
         column.setId(rs.getInt("id"));
         column.setProjectId(rs.getInt("project_id"));
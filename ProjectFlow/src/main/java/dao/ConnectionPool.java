@@ -0,0 +1,272 @@
+package dao;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+public class ConnectionPool {
+    private final String url;
+    private final String user;
+    private final String password;
+    private final int maxSize;
+    private final long acquireTimeoutMs;
+    private final long validationIntervalMs;
+    private final int validationTimeoutSec;
+    private final int statementCacheSize;
+
+    private final Deque<PooledConnection> idle = new ArrayDeque<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition available = lock.newCondition();
+    private int openCount = 0;
+    private boolean shutdown = false;
+    private volatile Runnable writeListener;
+
+    private final AtomicLong borrowCount = new AtomicLong();
+    private final AtomicLong waitCount = new AtomicLong();
+    private final AtomicLong creationCount = new AtomicLong();
+    private final AtomicLong timeoutCount = new AtomicLong();
+    private final AtomicLong validationFailureCount = new AtomicLong();
+
+    public ConnectionPool(String url, String user, String password, int maxSize,
+                          long acquireTimeoutMs, long validationIntervalMs, int validationTimeoutSec,
+                          int statementCacheSize) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("Размер пула должен быть больше нуля");
+        }
+        this.url = url;
+        this.user = user;
+        this.password = password;
+        this.maxSize = maxSize;
+        this.acquireTimeoutMs = acquireTimeoutMs;
+        this.validationIntervalMs = validationIntervalMs;
+        this.validationTimeoutSec = validationTimeoutSec;
+        this.statementCacheSize = statementCacheSize;
+    }
+
+    public Connection borrow() throws SQLException {
+        return borrow(false);
+    }
+
+    public Connection borrow(boolean readOnly) throws SQLException {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(acquireTimeoutMs);
+        boolean waited = false;
+        while (true) {
+            PooledConnection candidate = null;
+            boolean create = false;
+            lock.lock();
+            try {
+                while (true) {
+                    if (shutdown) {
+                        throw new SQLException("Пул соединений закрыт");
+                    }
+                    candidate = idle.pollFirst();
+                    if (candidate != null) {
+                        break;
+                    }
+                    if (openCount < maxSize) {
+                        openCount++;
+                        create = true;
+                        break;
+                    }
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) {
+                        timeoutCount.incrementAndGet();
+                        throw new SQLException("Не удалось получить соединение из пула за " + acquireTimeoutMs + " мс");
+                    }
+                    if (!waited) {
+                        waited = true;
+                        waitCount.incrementAndGet();
+                    }
+                    try {
+                        available.awaitNanos(remaining);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new SQLException("Ожидание соединения прервано", e);
+                    }
+                }
+            } finally {
+                lock.unlock();
+            }
+
+            if (create) {
+                candidate = createConnection();
+            } else if (!validate(candidate)) {
+                validationFailureCount.incrementAndGet();
+                discard(candidate);
+                continue;
+            }
+            borrowCount.incrementAndGet();
+            return candidate.lease(readOnly);
+        }
+    }
+
+    public int warm(int count) {
+        List<Connection> leased = new ArrayList<>();
+        try {
+            for (int i = 0; i < Math.min(count, maxSize); i++) {
+                leased.add(borrow(true));
+            }
+        } catch (SQLException e) {
+            System.err.println("[ConnectionPool] Ошибка прогрева пула: " + e.getMessage());
+        } finally {
+            for (Connection conn : leased) {
+                try {
+                    conn.close();
+                } catch (SQLException e) {
+                    System.err.println("[ConnectionPool] Ошибка при возврате соединения: " + e.getMessage());
+                }
+            }
+        }
+        return leased.size();
+    }
+
+    private PooledConnection createConnection() throws SQLException {
+        try {
+            Connection raw = DriverManager.getConnection(url, user, password);
+            creationCount.incrementAndGet();
+            System.out.println("[ConnectionPool] Создано новое соединение (" + creationCount.get() + ")");
+            return new PooledConnection(this, raw, statementCacheSize);
+        } catch (SQLException | RuntimeException e) {
+            lock.lock();
+            try {
+                openCount--;
+                available.signal();
+            } finally {
+                lock.unlock();
+            }
+            throw e;
+        }
+    }
+
+    private boolean validate(PooledConnection pooled) {
+        if (System.currentTimeMillis() - pooled.getLastReleasedAt() < validationIntervalMs) {
+            return true;
+        }
+        try {
+            return pooled.getRawConnection().isValid(validationTimeoutSec);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    public void setWriteListener(Runnable writeListener) {
+        this.writeListener = writeListener;
+    }
+
+    void release(PooledConnection pooled, boolean wrote) {
+        Runnable listener = writeListener;
+        if (wrote && listener != null) {
+            listener.run();
+        }
+        boolean healthy = pooled.reset();
+        lock.lock();
+        try {
+            if (healthy && !shutdown) {
+                pooled.markReleased();
+                idle.addFirst(pooled);
+                available.signal();
+                return;
+            }
+        } finally {
+            lock.unlock();
+        }
+        discard(pooled);
+    }
+
+    private void discard(PooledConnection pooled) {
+        pooled.closeRaw();
+        lock.lock();
+        try {
+            openCount--;
+            available.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void shutdown() {
+        Deque<PooledConnection> toClose;
+        lock.lock();
+        try {
+            shutdown = true;
+            toClose = new ArrayDeque<>(idle);
+            idle.clear();
+            available.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        for (PooledConnection pooled : toClose) {
+            discard(pooled);
+        }
+        System.out.println("[ConnectionPool] Пул закрыт. " + getStats());
+    }
+
+    public boolean isShutdown() {
+        lock.lock();
+        try {
+            return shutdown;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public int getOpenCount() {
+        lock.lock();
+        try {
+            return openCount;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getIdleCount() {
+        lock.lock();
+        try {
+            return idle.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long getBorrowCount() {
+        return borrowCount.get();
+    }
+
+    public long getWaitCount() {
+        return waitCount.get();
+    }
+
+    public long getCreationCount() {
+        return creationCount.get();
+    }
+
+    public long getTimeoutCount() {
+        return timeoutCount.get();
+    }
+
+    public long getValidationFailureCount() {
+        return validationFailureCount.get();
+    }
+
+    public String getStats() {
+        return "открыто=" + getOpenCount() + "/" + maxSize +
+                ", свободно=" + getIdleCount() +
+                ", выдано=" + getBorrowCount() +
+                ", ожиданий=" + getWaitCount() +
+                ", создано=" + getCreationCount() +
+                ", таймаутов=" + getTimeoutCount() +
+                ", невалидных=" + getValidationFailureCount();
+    }
+}
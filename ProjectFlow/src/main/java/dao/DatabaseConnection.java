@@ -1,32 +1,133 @@
 package dao;
 
 import models.User;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
 import java.sql.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
 
 public class DatabaseConnection {
-    private static Connection connection;
-    private static final String URL = "jdbc:mysql://localhost:3306/projectflow_db";
-    private static final String USER = "root";
-    private static final String PASSWORD = "yynao-YAY22";
+    private static ConnectionPool pool;
+    private static final String MYSQL_URL = "jdbc:mysql://localhost:3306/projectflow_db" +
+            "?useServerPrepStmts=true&cachePrepStmts=true&prepStmtCacheSize=250&prepStmtCacheSqlLimit=2048" +
+            "&rewriteBatchedStatements=true&useCursorFetch=true";
+    private static final String EMBEDDED_URL = "jdbc:h2:~/.projectflow/projectflow" +
+            ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH";
+    private static final String URL = resolveUrl();
+    private static final SqlDialect DIALECT = SqlDialect.fromUrl(URL);
+    private static final String USER = System.getProperty("projectflow.db.user", DIALECT == SqlDialect.H2 ? "sa" : "root");
+    private static final String PASSWORD = System.getProperty("projectflow.db.password",
+            DIALECT == SqlDialect.H2 ? "" : "yynao-YAY22");
+    private static final int POOL_MAX_SIZE = 8;
+    private static final long POOL_ACQUIRE_TIMEOUT_MS = 5000;
+    private static final long POOL_VALIDATION_INTERVAL_MS = 30000;
+    private static final int POOL_VALIDATION_TIMEOUT_SEC = 2;
+    private static final int STATEMENT_CACHE_SIZE = 64;
+    private static final String[] REPLICA_URLS = resolveReplicaUrls();
+    private static final long READ_YOUR_WRITES_MS = Long.getLong("projectflow.db.readYourWritesMs", 5000);
+    private static final long REPLICA_RETRY_MS = Long.getLong("projectflow.db.replicaRetryMs", 30000);
+    private static final long REPLICA_MAX_LAG_MS = Long.getLong("projectflow.db.replicaMaxLagMs", 5000);
+    private static List<ConnectionPool> replicaPools;
+    private static final AtomicLongArray replicaDownUntil = new AtomicLongArray(REPLICA_URLS.length);
+    private static final AtomicInteger replicaCursor = new AtomicInteger();
+    private static final AtomicLong replicaReads = new AtomicLong();
+    private static final AtomicLong primaryReads = new AtomicLong();
+    private static final AtomicLong replicaFailures = new AtomicLong();
+    private static final AtomicLong replicaRetries = new AtomicLong();
+    private static volatile long lastWriteAt = 0;
+    private static final ThreadLocal<Transaction> currentTransaction = new ThreadLocal<>();
     private static User currentUser = null;
     private static int currentUserId = 0;
     private static String currentUsername = "";
     private static String currentUserEmail = "";
 
+    private static String resolveUrl() {
+        String url = System.getProperty("projectflow.db.url");
+        if (url != null && !url.isEmpty()) {
+            return url;
+        }
+        return "embedded".equalsIgnoreCase(System.getProperty("projectflow.db")) ? EMBEDDED_URL : MYSQL_URL;
+    }
+
+    private static String[] resolveReplicaUrls() {
+        String urls = System.getProperty("projectflow.db.replicaUrls", "").trim();
+        if (urls.isEmpty()) {
+            return new String[0];
+        }
+        return urls.split("\\s*,\\s*");
+    }
+
+    public static SqlDialect getDialect() {
+        return DIALECT;
+    }
+
+    public interface TransactionWork<T> {
+        T execute() throws SQLException;
+    }
+
     public static Connection getConnection() {
+        Transaction transaction = currentTransaction.get();
+        if (transaction != null) {
+            return transaction.getConnection();
+        }
         try {
-            if (connection == null || connection.isClosed()) {
-                System.out.println("[DatabaseConnection] Создание нового подключения к БД...");
+            return getPool().borrow();
+        } catch (SQLException e) {
+            System.err.println("[DatabaseConnection] Ошибка подключения к БД: " + e.getMessage());
+            e.printStackTrace();
+            return null;
+        }
+    }
+
+    static long replicaLagAllowanceMs(Connection conn) {
+        return ReplicaConnection.isReplica(conn) ? REPLICA_MAX_LAG_MS : 0;
+    }
+
+    public static Connection getReadConnection() {
+        if (currentTransaction.get() != null || REPLICA_URLS.length == 0) {
+            return getConnection();
+        }
+        if (System.currentTimeMillis() - lastWriteAt >= READ_YOUR_WRITES_MS) {
+            List<ConnectionPool> pools = getReplicaPools();
+            int start = Math.floorMod(replicaCursor.getAndIncrement(), pools.size());
+            for (int i = 0; i < pools.size(); i++) {
+                int index = (start + i) % pools.size();
+                if (System.currentTimeMillis() < replicaDownUntil.get(index)) {
+                    continue;
+                }
                 try {
-                    Class.forName("com.mysql.cj.jdbc.Driver");
-                } catch (ClassNotFoundException e) {
-                    System.err.println("[DatabaseConnection] MySQL Driver не найден!");
-                    throw new RuntimeException("MySQL Driver не найден", e);
+                    Connection conn = pools.get(index).borrow(true);
+                    replicaReads.incrementAndGet();
+                    return ReplicaConnection.wrap(conn, index);
+                } catch (SQLException e) {
+                    markReplicaDown(index, e);
                 }
-                connection = DriverManager.getConnection(URL, USER, PASSWORD);
-                System.out.println("[DatabaseConnection] Подключение к БД успешно создано");
             }
-            return connection;
+        }
+        return borrowPrimaryRead();
+    }
+
+    static Connection retryOnPrimary(int replicaIndex, SQLException cause) {
+        markReplicaDown(replicaIndex, cause);
+        replicaRetries.incrementAndGet();
+        return borrowPrimaryRead();
+    }
+
+    private static void markReplicaDown(int index, SQLException e) {
+        replicaDownUntil.set(index, System.currentTimeMillis() + REPLICA_RETRY_MS);
+        replicaFailures.incrementAndGet();
+        System.err.println("[DatabaseConnection] Реплика " + REPLICA_URLS[index] +
+                " недоступна, чтение переключено на основную БД: " + e.getMessage());
+    }
+
+    private static Connection borrowPrimaryRead() {
+        primaryReads.incrementAndGet();
+        try {
+            return getPool().borrow(true);
         } catch (SQLException e) {
             System.err.println("[DatabaseConnection] Ошибка подключения к БД: " + e.getMessage());
             e.printStackTrace();
@@ -34,6 +135,73 @@ public class DatabaseConnection {
         }
     }
 
+    private static synchronized List<ConnectionPool> getReplicaPools() {
+        if (replicaPools == null) {
+            getPool();
+            replicaPools = new ArrayList<>();
+            for (String url : REPLICA_URLS) {
+                System.out.println("[DatabaseConnection] Создание пула подключений к реплике " + url);
+                replicaPools.add(new ConnectionPool(url, USER, PASSWORD, POOL_MAX_SIZE,
+                        POOL_ACQUIRE_TIMEOUT_MS, POOL_VALIDATION_INTERVAL_MS, POOL_VALIDATION_TIMEOUT_SEC,
+                        STATEMENT_CACHE_SIZE));
+            }
+        }
+        return replicaPools;
+    }
+
+    public static synchronized ConnectionPool getPool() {
+        if (pool == null || pool.isShutdown()) {
+            System.out.println("[DatabaseConnection] Создание пула подключений к БД (" + DIALECT + ")...");
+            try {
+                Class.forName(DIALECT.getDriverClass());
+            } catch (ClassNotFoundException e) {
+                System.err.println("[DatabaseConnection] Драйвер " + DIALECT + " не найден!");
+                throw new RuntimeException("Драйвер " + DIALECT + " не найден", e);
+            }
+            QueryMetrics.register();
+            pool = new ConnectionPool(URL, USER, PASSWORD, POOL_MAX_SIZE,
+                    POOL_ACQUIRE_TIMEOUT_MS, POOL_VALIDATION_INTERVAL_MS, POOL_VALIDATION_TIMEOUT_SEC,
+                    STATEMENT_CACHE_SIZE);
+            pool.setWriteListener(() -> lastWriteAt = System.currentTimeMillis());
+        }
+        return pool;
+    }
+
+    public static int warmPool(int connections) {
+        int warmed = getPool().warm(connections);
+        System.out.println("[DatabaseConnection] Пул прогрет, открыто соединений: " + warmed);
+        return warmed;
+    }
+
+    public static String getPoolStats() {
+        ConnectionPool current;
+        List<ConnectionPool> replicas;
+        synchronized (DatabaseConnection.class) {
+            current = pool;
+            replicas = replicaPools;
+        }
+        StringBuilder stats = new StringBuilder(current != null ? current.getStats() : "пул не создан");
+        if (replicas != null) {
+            for (int i = 0; i < replicas.size(); i++) {
+                stats.append("\nреплика ").append(REPLICA_URLS[i]).append(": ").append(replicas.get(i).getStats());
+            }
+            stats.append("\nчтений с реплик: ").append(replicaReads.get())
+                    .append(", с основной БД: ").append(primaryReads.get())
+                    .append(", отказов реплик: ").append(replicaFailures.get())
+                    .append(", повторов на основной БД: ").append(replicaRetries.get());
+        }
+        return stats.toString();
+    }
+
+    public static String getStatementCacheStats() {
+        return StatementCache.getStats();
+    }
+
+    public static String dumpQueryMetrics() {
+        return QueryMetrics.getInstance().dump();
+    }
+
+
     public static void setCurrentUser(User user) {
         currentUser = user;
         if (user != null) {
@@ -79,16 +247,15 @@ public class DatabaseConnection {
     }
 
     public static boolean testConnection() {
-        try {
-            Connection conn = getConnection();
+        try (Connection conn = getConnection()) {
             if (conn == null) {
                 System.err.println("[DatabaseConnection] Не удалось получить соединение");
                 return false;
             }
-            Statement stmt = conn.createStatement();
-            ResultSet rs = stmt.executeQuery("SELECT 1");
-            rs.close();
-            stmt.close();
+            try (Statement stmt = conn.createStatement();
+                 ResultSet rs = stmt.executeQuery("SELECT 1")) {
+                rs.next();
+            }
             System.out.println("[DatabaseConnection] Тест подключения успешен");
             return true;
         } catch (SQLException e) {
@@ -101,22 +268,23 @@ public class DatabaseConnection {
     }
 
     public static void closeConnection() {
-        if (connection != null) {
-            try {
-                if (!connection.isClosed()) {
-                    try (Statement stmt = connection.createStatement()) {
-                        try (ResultSet rs = stmt.executeQuery("SHOW PROCESSLIST")) {
-                        }
-                    }
-                    connection.close();
-                    System.out.println("[DatabaseConnection] Подключение к БД закрыто");
-                }
-            } catch (SQLException e) {
-                System.err.println("[DatabaseConnection] Ошибка при закрытии соединения: " + e.getMessage());
-            } finally {
-                connection = null;
+        ConnectionPool current;
+        List<ConnectionPool> replicas;
+        synchronized (DatabaseConnection.class) {
+            current = pool;
+            replicas = replicaPools;
+            pool = null;
+            replicaPools = null;
+        }
+        if (replicas != null) {
+            for (ConnectionPool replica : replicas) {
+                replica.shutdown();
             }
         }
+        if (current != null) {
+            current.shutdown();
+            System.out.println("[DatabaseConnection] Подключение к БД закрыто");
+        }
     }
 
     public static ResultSet executeQuery(String sql) throws SQLException {
@@ -124,8 +292,14 @@ public class DatabaseConnection {
         if (conn == null) {
             throw new SQLException("Нет подключения к базе данных");
         }
-        Statement stmt = conn.createStatement();
-        return stmt.executeQuery(sql);
+        Statement stmt = null;
+        try {
+            stmt = conn.createStatement();
+            return closingResultSet(stmt.executeQuery(sql), stmt, conn);
+        } catch (SQLException e) {
+            closeQuietly(stmt, conn);
+            throw e;
+        }
     }
 
     public static ResultSet executeQuery(String sql, Object... params) throws SQLException {
@@ -133,11 +307,17 @@ public class DatabaseConnection {
         if (conn == null) {
             throw new SQLException("Нет подключения к базе данных");
         }
-        PreparedStatement stmt = conn.prepareStatement(sql);
-        for (int i = 0; i < params.length; i++) {
-            stmt.setObject(i + 1, params[i]);
+        PreparedStatement stmt = null;
+        try {
+            stmt = conn.prepareStatement(sql);
+            for (int i = 0; i < params.length; i++) {
+                stmt.setObject(i + 1, params[i]);
+            }
+            return closingResultSet(stmt.executeQuery(), stmt, conn);
+        } catch (SQLException e) {
+            closeQuietly(stmt, conn);
+            throw e;
         }
-        return stmt.executeQuery();
     }
 
     public static int executeUpdate(String sql) throws SQLException {
@@ -145,7 +325,7 @@ public class DatabaseConnection {
         if (conn == null) {
             throw new SQLException("Нет подключения к базе данных");
         }
-        try (Statement stmt = conn.createStatement()) {
+        try (conn; Statement stmt = conn.createStatement()) {
             return stmt.executeUpdate(sql);
         }
     }
@@ -155,7 +335,7 @@ public class DatabaseConnection {
         if (conn == null) {
             throw new SQLException("Нет подключения к базе данных");
         }
-        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+        try (conn; PreparedStatement stmt = conn.prepareStatement(sql)) {
             for (int i = 0; i < params.length; i++) {
                 stmt.setObject(i + 1, params[i]);
             }
@@ -168,49 +348,140 @@ public class DatabaseConnection {
         if (conn == null) {
             throw new SQLException("Нет подключения к базе данных");
         }
-        PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS);
-        for (int i = 0; i < params.length; i++) {
-            stmt.setObject(i + 1, params[i]);
+        PreparedStatement stmt = null;
+        try {
+            stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS);
+            for (int i = 0; i < params.length; i++) {
+                stmt.setObject(i + 1, params[i]);
+            }
+            stmt.executeUpdate();
+            return closingResultSet(stmt.getGeneratedKeys(), stmt, conn);
+        } catch (SQLException e) {
+            closeQuietly(stmt, conn);
+            throw e;
+        }
+    }
+
+    private static ResultSet closingResultSet(ResultSet rs, Statement stmt, Connection conn) {
+        return (ResultSet) Proxy.newProxyInstance(
+                ResultSet.class.getClassLoader(),
+                new Class<?>[]{ResultSet.class},
+                (proxy, method, args) -> {
+                    if ("close".equals(method.getName())) {
+                        try {
+                            rs.close();
+                        } finally {
+                            closeQuietly(stmt, conn);
+                        }
+                        return null;
+                    }
+                    try {
+                        return method.invoke(rs, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                });
+    }
+
+    private static void closeQuietly(Statement stmt, Connection conn) {
+        try {
+            if (stmt != null) {
+                stmt.close();
+            }
+        } catch (SQLException e) {
+            System.err.println("[DatabaseConnection] Ошибка при закрытии запроса: " + e.getMessage());
+        }
+        try {
+            conn.close();
+        } catch (SQLException e) {
+            System.err.println("[DatabaseConnection] Ошибка при возврате соединения: " + e.getMessage());
+        }
+    }
+
+    public static <T> T inTransaction(TransactionWork<T> work) throws SQLException {
+        if (currentTransaction.get() != null) {
+            return work.execute();
+        }
+        beginTransaction();
+        Transaction transaction = currentTransaction.get();
+        try {
+            T result = work.execute();
+            if (transaction.isRollbackOnly()) {
+                rollbackTransaction();
+                if (transaction.getFailure() != null) {
+                    throw new SQLException("Транзакция откачена из-за ошибки запроса", transaction.getFailure());
+                }
+                return result;
+            }
+            commitTransaction();
+            return result;
+        } catch (SQLException | RuntimeException e) {
+            rollbackTransaction();
+            throw e;
+        }
+    }
+
+    public static boolean isInTransaction() {
+        return currentTransaction.get() != null;
+    }
+
+    public static void setRollbackOnly() {
+        Transaction transaction = currentTransaction.get();
+        if (transaction != null) {
+            transaction.setRollbackOnly();
         }
-        stmt.executeUpdate();
-        return stmt.getGeneratedKeys();
     }
 
     public static void beginTransaction() throws SQLException {
-        Connection conn = getConnection();
-        if (conn != null) {
+        if (currentTransaction.get() != null) {
+            throw new SQLException("Транзакция уже начата");
+        }
+        Connection conn = getPool().borrow();
+        try {
             conn.setAutoCommit(false);
-            System.out.println("[DatabaseConnection] Начало транзакции");
+        } catch (SQLException e) {
+            conn.close();
+            throw e;
         }
+        currentTransaction.set(new Transaction(conn));
+        System.out.println("[DatabaseConnection] Начало транзакции");
     }
 
     public static void commitTransaction() throws SQLException {
-        Connection conn = getConnection();
-        if (conn != null) {
-            conn.commit();
-            conn.setAutoCommit(true);
+        Transaction transaction = currentTransaction.get();
+        if (transaction == null) {
+            return;
+        }
+        try {
+            transaction.commit();
             System.out.println("[DatabaseConnection] Транзакция зафиксирована");
+        } catch (SQLException e) {
+            transaction.rollback();
+            throw e;
+        } finally {
+            currentTransaction.remove();
+            transaction.close();
         }
     }
 
     public static void rollbackTransaction() {
+        Transaction transaction = currentTransaction.get();
+        if (transaction == null) {
+            return;
+        }
         try {
-            Connection conn = getConnection();
-            if (conn != null) {
-                conn.rollback();
-                conn.setAutoCommit(true);
-                System.out.println("[DatabaseConnection] Транзакция откачена");
-            }
-        } catch (SQLException e) {
-            System.err.println("[DatabaseConnection] Ошибка при откате транзакции: " + e.getMessage());
+            transaction.rollback();
+            System.out.println("[DatabaseConnection] Транзакция откачена");
+        } finally {
+            currentTransaction.remove();
+            transaction.close();
         }
     }
 
+
     public static boolean tableExists(String tableName) {
-        String sql = "SELECT COUNT(*) FROM information_schema.tables " +
-                "WHERE table_schema = DATABASE() AND table_name = ?";
         try (Connection conn = getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
+             PreparedStatement stmt = conn.prepareStatement(DIALECT.tableExistsSql())) {
             stmt.setString(1, tableName);
             ResultSet rs = stmt.executeQuery();
             if (rs.next()) {
@@ -1,21 +1,28 @@
 package dao;
 
 import models.Label;
+import models.LabelRegistry;
 import java.sql.*;
 import java.util.ArrayList;
 import java.util.List;
 
 public class LabelDAO {
+    private final LabelRegistry registry = LabelRegistry.getInstance();
 
     public List<Label> findAll() {
+        List<Label> cached = registry.getCatalog();
+        if (cached != null) {
+            return cached;
+        }
         List<Label> labels = new ArrayList<>();
         String sql = "SELECT * FROM labels ORDER BY name";
-        try (Connection conn = DatabaseConnection.getConnection();
+        try (Connection conn = DatabaseConnection.getReadConnection();
              Statement stmt = conn.createStatement();
              ResultSet rs = stmt.executeQuery(sql)) {
             while (rs.next()) {
                 labels.add(mapResultSetToLabel(rs));
             }
+            registry.setCatalog(labels);
         } catch (SQLException e) {
             System.err.println("Ошибка загрузки меток: " + e.getMessage());
         }
@@ -36,6 +43,7 @@ public class LabelDAO {
                         label.setId(keys.getInt(1));
                     }
                 }
+                registry.labelCreated(label);
                 return true;
             }
         } catch (SQLException e) {
@@ -0,0 +1,137 @@
+package dao;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+class PooledConnection {
+    private final ConnectionPool pool;
+    private final Connection raw;
+    private final StatementCache statementCache;
+    private volatile long lastReleasedAt;
+
+    PooledConnection(ConnectionPool pool, Connection raw, int statementCacheSize) {
+        this.pool = pool;
+        this.raw = raw;
+        this.statementCache = new StatementCache(raw, statementCacheSize);
+        this.lastReleasedAt = System.currentTimeMillis();
+    }
+
+    Connection getRawConnection() {
+        return raw;
+    }
+
+    long getLastReleasedAt() {
+        return lastReleasedAt;
+    }
+
+    void markReleased() {
+        lastReleasedAt = System.currentTimeMillis();
+    }
+
+    Connection lease(boolean readOnly) {
+        return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                new LeaseHandler(readOnly));
+    }
+
+    int getCachedStatementCount() {
+        return statementCache.size();
+    }
+
+    boolean reset() {
+        statementCache.releaseAll();
+        try {
+            if (raw.isClosed()) {
+                return false;
+            }
+            if (!raw.getAutoCommit()) {
+                raw.rollback();
+                raw.setAutoCommit(true);
+            }
+            raw.clearWarnings();
+            return true;
+        } catch (SQLException e) {
+            System.err.println("[ConnectionPool] Соединение не удалось вернуть в пул: " + e.getMessage());
+            return false;
+        }
+    }
+
+    void closeRaw() {
+        statementCache.closeAll();
+        try {
+            raw.close();
+        } catch (SQLException e) {
+            System.err.println("[ConnectionPool] Ошибка при закрытии соединения: " + e.getMessage());
+        }
+    }
+
+    private class LeaseHandler implements InvocationHandler {
+        private final boolean readOnly;
+        private boolean closed = false;
+        private boolean wrote = false;
+
+        LeaseHandler(boolean readOnly) {
+            this.readOnly = readOnly;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (!closed) {
+                        closed = true;
+                        pool.release(PooledConnection.this, wrote && !readOnly);
+                    }
+                    return null;
+                case "isClosed":
+                    return closed || raw.isClosed();
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "PooledConnection[" + raw + (closed ? ", returned" : "") + "]";
+                default:
+                    break;
+            }
+            if (closed) {
+                throw new SQLException("Соединение уже возвращено в пул");
+            }
+            if ("prepareCall".equals(method.getName())) {
+                wrote = true;
+            }
+            if ("prepareStatement".equals(method.getName())) {
+                if (args.length == 1) {
+                    PreparedStatement stmt = statementCache.prepare((String) args[0], Statement.NO_GENERATED_KEYS);
+                    return QueryMetrics.wrap(stmt, (String) args[0], PreparedStatement.class, this::markWritten);
+                }
+                if (args.length == 2 && args[1] instanceof Integer) {
+                    PreparedStatement stmt = statementCache.prepare((String) args[0], (Integer) args[1]);
+                    return QueryMetrics.wrap(stmt, (String) args[0], PreparedStatement.class, this::markWritten);
+                }
+            }
+            Object result;
+            try {
+                result = method.invoke(raw, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+            if (result instanceof Statement) {
+                String sql = "createStatement".equals(method.getName()) ? null : (String) args[0];
+                return QueryMetrics.wrap((Statement) result, sql, method.getReturnType(), this::markWritten);
+            }
+            return result;
+        }
+
+        private void markWritten() {
+            wrote = true;
+        }
+    }
+}
@@ -7,12 +7,12 @@ import java.util.ArrayList;
 import java.util.List;
 
 public class ProjectDAO {
+    static final String FIND_BY_USER_SQL = "SELECT * FROM projects WHERE user_id = ? AND is_archived = FALSE ORDER BY position";
 
     public List<Project> findByUserId(int userId) {
         List<Project> projects = new ArrayList<>();
-        String sql = "SELECT * FROM projects WHERE user_id = ? AND is_archived = FALSE ORDER BY position";
-        try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
+        try (Connection conn = DatabaseConnection.getReadConnection();
+             PreparedStatement stmt = conn.prepareStatement(FIND_BY_USER_SQL)) {
             stmt.setInt(1, userId);
             ResultSet rs = stmt.executeQuery();
             while (rs.next()) {
@@ -42,7 +42,7 @@ public class ProjectDAO {
     public List<Project> findAllArchived(int userId) {
         List<Project> projects = new ArrayList<>();
         String sql = "SELECT * FROM projects WHERE user_id = ? AND is_archived = TRUE ORDER BY updated_at DESC";
-        try (Connection conn = DatabaseConnection.getConnection();
+        try (Connection conn = DatabaseConnection.getReadConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
             stmt.setInt(1, userId);
             ResultSet rs = stmt.executeQuery();
@@ -111,7 +111,7 @@ public class ProjectDAO {
 
     public int countProjectsByUserId(int userId) {
         String sql = "SELECT COUNT(*) as count FROM projects WHERE user_id = ? AND is_archived = FALSE";
-        try (Connection conn = DatabaseConnection.getConnection();
+        try (Connection conn = DatabaseConnection.getReadConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
             stmt.setInt(1, userId);
             ResultSet rs = stmt.executeQuery();
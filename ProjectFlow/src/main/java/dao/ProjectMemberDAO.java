@@ -6,12 +6,12 @@ import java.util.ArrayList;
 import java.util.List;
 
 public class ProjectMemberDAO {
+    static final String FIND_BY_PROJECT_SQL = "SELECT * FROM project_members WHERE project_id = ? ORDER BY role, username";
 
     public List<ProjectMember> findByProjectId(int projectId) {
         List<ProjectMember> members = new ArrayList<>();
-        String sql = "SELECT * FROM project_members WHERE project_id = ? ORDER BY role, username";
-        try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
+        try (Connection conn = DatabaseConnection.getReadConnection();
+             PreparedStatement stmt = conn.prepareStatement(FIND_BY_PROJECT_SQL)) {
             stmt.setInt(1, projectId);
             ResultSet rs = stmt.executeQuery();
             while (rs.next()) {
@@ -0,0 +1,349 @@
+package dao;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.FileHandler;
+import java.util.logging.Formatter;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+import java.util.regex.Pattern;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+public class QueryMetrics implements QueryMetricsMXBean {
+    private static final String OBJECT_NAME = "projectflow:type=QueryMetrics";
+    private static final long[] BUCKET_BOUNDS_MICROS = {
+            100, 250, 500, 1_000, 2_500, 5_000, 10_000, 25_000, 50_000,
+            100_000, 250_000, 500_000, 1_000_000, 2_500_000, 5_000_000, 10_000_000, Long.MAX_VALUE
+    };
+    private static final int MAX_NORMALIZED_CACHE = 1000;
+    private static final int SLOW_LOG_LIMIT_BYTES = 5 * 1024 * 1024;
+    private static final int SLOW_LOG_FILES = 5;
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private static final QueryMetrics INSTANCE = new QueryMetrics();
+
+    private final Map<String, QueryStats> stats = new ConcurrentHashMap<>();
+    private final Map<String, String> normalized = new ConcurrentHashMap<>();
+    private final LongAdder slowQueryCount = new LongAdder();
+    private volatile long slowQueryThresholdMs = Long.getLong("projectflow.slowQueryMs", 200);
+    private volatile boolean registered = false;
+    private Logger slowQueryLog;
+
+    public static QueryMetrics getInstance() {
+        return INSTANCE;
+    }
+
+    public static synchronized void register() {
+        if (INSTANCE.registered) {
+            return;
+        }
+        INSTANCE.registered = true;
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(OBJECT_NAME);
+            if (!server.isRegistered(name)) {
+                server.registerMBean(INSTANCE, name);
+            }
+        } catch (JMException e) {
+            System.err.println("[QueryMetrics] Не удалось зарегистрировать MBean: " + e.getMessage());
+        }
+    }
+
+    static Statement wrap(Statement stmt, String sql, Class<?> type, Runnable onWrite) {
+        QueryStats prepared = sql != null ? INSTANCE.statsFor(sql) : null;
+        return (Statement) Proxy.newProxyInstance(
+                type.getClassLoader(),
+                new Class<?>[]{type},
+                (proxy, method, args) -> {
+                    String name = method.getName();
+                    if ("equals".equals(name)) {
+                        return proxy == args[0];
+                    }
+                    if ("hashCode".equals(name)) {
+                        return System.identityHashCode(proxy);
+                    }
+                    if (!name.startsWith("execute")) {
+                        try {
+                            return method.invoke(stmt, args);
+                        } catch (InvocationTargetException e) {
+                            throw e.getCause();
+                        }
+                    }
+                    QueryStats target = prepared;
+                    if (target == null) {
+                        target = INSTANCE.statsFor(args != null && args.length > 0 && args[0] instanceof String
+                                ? (String) args[0] : "<batch>");
+                    }
+                    long start = System.nanoTime();
+                    Object result;
+                    try {
+                        result = method.invoke(stmt, args);
+                    } catch (InvocationTargetException e) {
+                        INSTANCE.record(target, System.nanoTime() - start, 0, true);
+                        throw e.getCause();
+                    }
+                    long elapsed = System.nanoTime() - start;
+                    if (result instanceof ResultSet) {
+                        INSTANCE.record(target, elapsed, 0, false);
+                        return countingResultSet((ResultSet) result, target);
+                    }
+                    INSTANCE.record(target, elapsed, rowsAffected(result), false);
+                    if (!Boolean.TRUE.equals(result)) {
+                        onWrite.run();
+                    }
+                    return result;
+                });
+    }
+
+    private static long rowsAffected(Object result) {
+        if (result instanceof Integer) {
+            return Math.max(0, (Integer) result);
+        }
+        if (result instanceof Long) {
+            return Math.max(0, (Long) result);
+        }
+        long rows = 0;
+        if (result instanceof int[]) {
+            for (int count : (int[]) result) {
+                rows += Math.max(0, count);
+            }
+        } else if (result instanceof long[]) {
+            for (long count : (long[]) result) {
+                rows += Math.max(0, count);
+            }
+        }
+        return rows;
+    }
+
+    private static ResultSet countingResultSet(ResultSet rs, QueryStats target) {
+        return (ResultSet) Proxy.newProxyInstance(
+                ResultSet.class.getClassLoader(),
+                new Class<?>[]{ResultSet.class},
+                (proxy, method, args) -> {
+                    Object result;
+                    try {
+                        result = method.invoke(rs, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                    if (Boolean.TRUE.equals(result) && "next".equals(method.getName())) {
+                        target.rows.increment();
+                    }
+                    return result;
+                });
+    }
+
+    private QueryStats statsFor(String sql) {
+        String key = normalized.get(sql);
+        if (key == null) {
+            key = normalize(sql);
+            if (normalized.size() < MAX_NORMALIZED_CACHE) {
+                normalized.put(sql, key);
+            }
+        }
+        return stats.computeIfAbsent(key, QueryStats::new);
+    }
+
+    static String normalize(String sql) {
+        String result = STRING_LITERAL.matcher(sql).replaceAll("?");
+        result = NUMBER_LITERAL.matcher(result).replaceAll("?");
+        return WHITESPACE.matcher(result).replaceAll(" ").trim();
+    }
+
+    private void record(QueryStats target, long elapsedNanos, long rows, boolean error) {
+        target.record(elapsedNanos, rows, error);
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(elapsedNanos);
+        if (elapsedMs >= slowQueryThresholdMs) {
+            slowQueryCount.increment();
+            Logger log = getSlowQueryLog();
+            if (log != null) {
+                log.warning(elapsedMs + " мс" + (error ? " (ошибка)" : "") + " | " + target.sql);
+            }
+        }
+    }
+
+    private synchronized Logger getSlowQueryLog() {
+        if (slowQueryLog != null) {
+            return slowQueryLog;
+        }
+        Logger log = Logger.getLogger("projectflow.slowQueries");
+        log.setUseParentHandlers(false);
+        String pattern = System.getProperty("projectflow.slowQueryLog", "%h/projectflow-slow-queries.%g.log");
+        try {
+            FileHandler handler = new FileHandler(pattern, SLOW_LOG_LIMIT_BYTES, SLOW_LOG_FILES, true);
+            handler.setFormatter(new Formatter() {
+                @Override
+                public String format(LogRecord record) {
+                    return String.format("%1$tF %1$tT %2$s%n", new Date(record.getMillis()), record.getMessage());
+                }
+            });
+            log.addHandler(handler);
+        } catch (IOException | SecurityException e) {
+            System.err.println("[QueryMetrics] Не удалось открыть журнал медленных запросов: " + e.getMessage());
+            log.setLevel(Level.OFF);
+        }
+        slowQueryLog = log;
+        return log;
+    }
+
+    @Override
+    public long getStatementCount() {
+        long total = 0;
+        for (QueryStats query : stats.values()) {
+            total += query.count.sum();
+        }
+        return total;
+    }
+
+    @Override
+    public long getErrorCount() {
+        long total = 0;
+        for (QueryStats query : stats.values()) {
+            total += query.errors.sum();
+        }
+        return total;
+    }
+
+    @Override
+    public long getSlowQueryCount() {
+        return slowQueryCount.sum();
+    }
+
+    @Override
+    public long getSlowQueryThresholdMs() {
+        return slowQueryThresholdMs;
+    }
+
+    @Override
+    public void setSlowQueryThresholdMs(long thresholdMs) {
+        slowQueryThresholdMs = Math.max(0, thresholdMs);
+    }
+
+    @Override
+    public String[] getQueries() {
+        List<String> lines = new ArrayList<>();
+        for (QueryStats query : sortedByTotalTime()) {
+            lines.add(query.summary());
+        }
+        return lines.toArray(new String[0]);
+    }
+
+    @Override
+    public String getPoolStats() {
+        return DatabaseConnection.getPoolStats();
+    }
+
+    @Override
+    public String getStatementCacheStats() {
+        return StatementCache.getStats();
+    }
+
+    @Override
+    public String getWriteBehindStats() {
+        return TaskWriteBehind.getInstance().getStats();
+    }
+
+    @Override
+    public String dump() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("[QueryMetrics] запросов=").append(getStatementCount())
+                .append(", ошибок=").append(getErrorCount())
+                .append(", медленных=").append(getSlowQueryCount())
+                .append(" (порог ").append(slowQueryThresholdMs).append(" мс)\n");
+        sb.append("  пул: ").append(getPoolStats()).append("\n");
+        sb.append("  кэш запросов: ").append(getStatementCacheStats()).append("\n");
+        sb.append("  отложенная запись: ").append(getWriteBehindStats()).append("\n");
+        for (QueryStats query : sortedByTotalTime()) {
+            sb.append("  ").append(query.summary()).append("\n");
+        }
+        return sb.toString();
+    }
+
+    @Override
+    public void reset() {
+        stats.clear();
+        slowQueryCount.reset();
+    }
+
+    private List<QueryStats> sortedByTotalTime() {
+        List<QueryStats> sorted = new ArrayList<>(stats.values());
+        sorted.sort((a, b) -> Long.compare(b.totalNanos.sum(), a.totalNanos.sum()));
+        return sorted;
+    }
+
+    private static class QueryStats {
+        private final String sql;
+        private final LongAdder count = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder rows = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final AtomicLong maxNanos = new AtomicLong();
+        private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_BOUNDS_MICROS.length);
+
+        QueryStats(String sql) {
+            this.sql = sql;
+        }
+
+        void record(long elapsedNanos, long affectedRows, boolean error) {
+            count.increment();
+            totalNanos.add(elapsedNanos);
+            rows.add(affectedRows);
+            if (error) {
+                errors.increment();
+            }
+            maxNanos.accumulateAndGet(elapsedNanos, Math::max);
+            long micros = TimeUnit.NANOSECONDS.toMicros(elapsedNanos);
+            int bucket = 0;
+            while (micros > BUCKET_BOUNDS_MICROS[bucket]) {
+                bucket++;
+            }
+            buckets.incrementAndGet(bucket);
+        }
+
+        double percentileMs(double percentile) {
+            long total = 0;
+            for (int i = 0; i < buckets.length(); i++) {
+                total += buckets.get(i);
+            }
+            if (total == 0) {
+                return 0;
+            }
+            long threshold = (long) Math.ceil(total * percentile);
+            long seen = 0;
+            for (int i = 0; i < buckets.length(); i++) {
+                seen += buckets.get(i);
+                if (seen >= threshold) {
+                    return Math.min(BUCKET_BOUNDS_MICROS[i] / 1000.0, maxNanos.get() / 1_000_000.0);
+                }
+            }
+            return maxNanos.get() / 1_000_000.0;
+        }
+
+        String summary() {
+            long calls = count.sum();
+            double avgMs = calls == 0 ? 0 : totalNanos.sum() / 1_000_000.0 / calls;
+            return String.format("вызовов=%d, ошибок=%d, строк=%d, ср=%.2f мс, p50=%.2f мс, p95=%.2f мс, " +
+                            "p99=%.2f мс, макс=%.2f мс | %s",
+                    calls, errors.sum(), rows.sum(), avgMs, percentileMs(0.50), percentileMs(0.95),
+                    percentileMs(0.99), maxNanos.get() / 1_000_000.0, sql);
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package dao;
+
+public interface QueryMetricsMXBean {
+
+    long getStatementCount();
+
+    long getErrorCount();
+
+    long getSlowQueryCount();
+
+    long getSlowQueryThresholdMs();
+
+    void setSlowQueryThresholdMs(long thresholdMs);
+
+    String[] getQueries();
+
+    String getPoolStats();
+
+    String getStatementCacheStats();
+
+    String getWriteBehindStats();
+
+    String dump();
+
+    void reset();
+}
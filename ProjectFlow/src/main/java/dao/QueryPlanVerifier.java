@@ -0,0 +1,126 @@
+package dao;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public class QueryPlanVerifier {
+    private static final Timestamp SAMPLE_TIME = Timestamp.valueOf(LocalDateTime.of(2024, 1, 1, 0, 0));
+    private static final int SAMPLE_PAGE_SIZE = 50;
+    private static final Map<String, HotQuery> HOT_QUERIES = new LinkedHashMap<>();
+
+    static {
+        HOT_QUERIES.put("TaskDAO.findByColumnId", query(TaskDAO.COLUMN_TASKS_SQL, 1));
+        HOT_QUERIES.put("TaskDAO.forEachByProjectId", query(TaskDAO.PROJECT_TASKS_SQL, 1));
+        HOT_QUERIES.put("TaskDAO.findArchivedPage", paged(TaskDAO.ARCHIVE_PAGE_SQL, 1, SAMPLE_PAGE_SIZE));
+        HOT_QUERIES.put("TaskDAO.findArchivedPage.after", paged(TaskDAO.ARCHIVE_PAGE_AFTER_SQL,
+                1, SAMPLE_TIME, SAMPLE_TIME, 1, SAMPLE_PAGE_SIZE));
+        HOT_QUERIES.put("TaskDAO.findChangedSince", query(TaskDAO.CHANGED_SINCE_SQL, 1, SAMPLE_TIME));
+        HOT_QUERIES.put("TaskDAO.findChangedSince.tombstones", query(TaskDAO.TOMBSTONES_SINCE_SQL, 1, SAMPLE_TIME));
+        HOT_QUERIES.put("BoardDAO.columns", query(BoardDAO.COLUMNS_SQL, 1));
+        HOT_QUERIES.put("BoardDAO.tasks", query(BoardDAO.TASKS_SQL, 1));
+        HOT_QUERIES.put("AttachmentDAO.findByTaskId", query(AttachmentDAO.FIND_BY_TASK_SQL, 1));
+        HOT_QUERIES.put("ProjectMemberDAO.findByProjectId", query(ProjectMemberDAO.FIND_BY_PROJECT_SQL, 1));
+        HOT_QUERIES.put("ProjectDAO.findByUserId", query(ProjectDAO.FIND_BY_USER_SQL, 1));
+    }
+
+    public static void main(String[] args) {
+        int exitCode = 1;
+        try {
+            if (SchemaMigrator.migrate() && verify().isEmpty()) {
+                exitCode = 0;
+            }
+        } finally {
+            DatabaseConnection.closeConnection();
+        }
+        System.exit(exitCode);
+    }
+
+    public static List<String> verify() {
+        List<String> problems = new ArrayList<>();
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            if (conn == null) {
+                problems.add("Нет подключения к базе данных");
+                return problems;
+            }
+            for (Map.Entry<String, HotQuery> query : HOT_QUERIES.entrySet()) {
+                problems.addAll(explain(conn, query.getKey(), query.getValue()));
+            }
+        } catch (SQLException e) {
+            problems.add("Ошибка проверки планов запросов: " + e.getMessage());
+        }
+        for (String problem : problems) {
+            System.err.println("[QueryPlanVerifier] " + problem);
+        }
+        if (problems.isEmpty()) {
+            System.out.println("[QueryPlanVerifier] Все запросы используют индексы (" + HOT_QUERIES.size() + ")");
+        }
+        return problems;
+    }
+
+    private static List<String> explain(Connection conn, String name, HotQuery query) throws SQLException {
+        List<String> problems = new ArrayList<>();
+        long params = query.sql.chars().filter(ch -> ch == '?').count();
+        if (params != query.params.length) {
+            problems.add(name + ": параметров в запросе " + params + ", примеров значений " + query.params.length);
+            return problems;
+        }
+        SqlDialect dialect = DatabaseConnection.getDialect();
+        try (PreparedStatement stmt = conn.prepareStatement("EXPLAIN " + query.sql)) {
+            for (int i = 0; i < query.params.length; i++) {
+                bind(stmt, i + 1, query.params[i]);
+            }
+            ResultSet rs = stmt.executeQuery();
+            while (rs.next()) {
+                String table = dialect.explainFullScan(rs);
+                if (table != null) {
+                    problems.add(name + ": полный просмотр таблицы " + table);
+                }
+                if (query.paged) {
+                    table = dialect.explainFilesort(rs);
+                    if (table != null) {
+                        problems.add(name + ": сортировка без индекса (filesort) по таблице " + table);
+                    }
+                }
+            }
+        }
+        return problems;
+    }
+
+    private static void bind(PreparedStatement stmt, int index, Object value) throws SQLException {
+        if (value instanceof Integer) {
+            stmt.setInt(index, (Integer) value);
+        } else if (value instanceof Timestamp) {
+            stmt.setTimestamp(index, (Timestamp) value);
+        } else {
+            stmt.setString(index, String.valueOf(value));
+        }
+    }
+
+    private static HotQuery query(String sql, Object... params) {
+        return new HotQuery(sql, false, params);
+    }
+
+    private static HotQuery paged(String sql, Object... params) {
+        return new HotQuery(sql, true, params);
+    }
+
+    private static class HotQuery {
+        private final String sql;
+        private final boolean paged;
+        private final Object[] params;
+
+        HotQuery(String sql, boolean paged, Object[] params) {
+            this.sql = sql;
+            this.paged = paged;
+            this.params = params;
+        }
+    }
+}
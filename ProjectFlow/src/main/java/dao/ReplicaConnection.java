@@ -0,0 +1,146 @@
+package dao;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+class ReplicaConnection implements InvocationHandler {
+    private final Connection replica;
+    private final int replicaIndex;
+    private final List<Connection> fallbacks = new ArrayList<>();
+
+    private ReplicaConnection(Connection replica, int replicaIndex) {
+        this.replica = replica;
+        this.replicaIndex = replicaIndex;
+    }
+
+    static boolean isReplica(Connection conn) {
+        return Proxy.isProxyClass(conn.getClass()) && Proxy.getInvocationHandler(conn) instanceof ReplicaConnection;
+    }
+
+    static Connection wrap(Connection replica, int replicaIndex) {
+        return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                new ReplicaConnection(replica, replicaIndex));
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        switch (method.getName()) {
+            case "close":
+                closeFallbacks();
+                replica.close();
+                return null;
+            case "equals":
+                return proxy == args[0];
+            case "hashCode":
+                return System.identityHashCode(proxy);
+            default:
+                break;
+        }
+        if (!Statement.class.isAssignableFrom(method.getReturnType())) {
+            return call(replica, method, args);
+        }
+        Object result;
+        try {
+            result = call(replica, method, args);
+        } catch (SQLException e) {
+            return call(openFallback(e), method, args);
+        }
+        if (result instanceof Statement) {
+            return Proxy.newProxyInstance(
+                    Statement.class.getClassLoader(),
+                    new Class<?>[]{method.getReturnType()},
+                    new FallbackStatement((Statement) result, method, args));
+        }
+        return result;
+    }
+
+    private Connection openFallback(SQLException cause) throws SQLException {
+        Connection primary = DatabaseConnection.retryOnPrimary(replicaIndex, cause);
+        if (primary == null) {
+            throw cause;
+        }
+        fallbacks.add(primary);
+        return primary;
+    }
+
+    private void closeFallbacks() {
+        for (Connection conn : fallbacks) {
+            try {
+                conn.close();
+            } catch (SQLException e) {
+                System.err.println("[DatabaseConnection] Ошибка при закрытии соединения: " + e.getMessage());
+            }
+        }
+        fallbacks.clear();
+    }
+
+    private static Object call(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private class FallbackStatement implements InvocationHandler {
+        private final Method factory;
+        private final Object[] factoryArgs;
+        private final List<Object[]> calls = new ArrayList<>();
+        private final List<Method> callMethods = new ArrayList<>();
+        private Statement current;
+        private boolean retried;
+
+        FallbackStatement(Statement stmt, Method factory, Object[] factoryArgs) {
+            this.current = stmt;
+            this.factory = factory;
+            this.factoryArgs = factoryArgs;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            switch (name) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                default:
+                    break;
+            }
+            if (!retried && (name.startsWith("set") || "clearParameters".equals(name))) {
+                callMethods.add(method);
+                calls.add(args);
+            }
+            if (retried || !"executeQuery".equals(name)) {
+                return call(current, method, args);
+            }
+            try {
+                return call(current, method, args);
+            } catch (SQLException e) {
+                retried = true;
+                closeQuietly(current);
+                current = (Statement) call(openFallback(e), factory, factoryArgs);
+                for (int i = 0; i < calls.size(); i++) {
+                    call(current, callMethods.get(i), calls.get(i));
+                }
+                return call(current, method, args);
+            }
+        }
+
+        private void closeQuietly(Statement stmt) {
+            try {
+                stmt.close();
+            } catch (SQLException ignored) {
+            }
+        }
+    }
+}
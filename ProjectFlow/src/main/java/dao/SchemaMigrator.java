@@ -0,0 +1,263 @@
+package dao;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+public class SchemaMigrator {
+    private static final String LOCK_NAME = "projectflow_schema_migrations";
+    private static final int LOCK_TIMEOUT_SEC = 30;
+
+    private static final List<Migration> MIGRATIONS = Arrays.asList(
+            new Migration(1, "Базовая схема",
+                    sql("CREATE TABLE IF NOT EXISTS users (" +
+                            "id INT AUTO_INCREMENT PRIMARY KEY, " +
+                            "username VARCHAR(50) NOT NULL UNIQUE, " +
+                            "email VARCHAR(100), " +
+                            "password_hash VARCHAR(255) NOT NULL, " +
+                            "created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP)"),
+                    sql("CREATE TABLE IF NOT EXISTS projects (" +
+                            "id INT AUTO_INCREMENT PRIMARY KEY, " +
+                            "user_id INT NOT NULL, " +
+                            "title VARCHAR(100) NOT NULL, " +
+                            "description TEXT, " +
+                            "color VARCHAR(20), " +
+                            "position INT DEFAULT 0, " +
+                            "is_archived BOOLEAN DEFAULT FALSE, " +
+                            "created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP, " +
+                            "updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP, " +
+                            "FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE)"),
+                    sql("CREATE TABLE IF NOT EXISTS columns (" +
+                            "id INT AUTO_INCREMENT PRIMARY KEY, " +
+                            "project_id INT NOT NULL, " +
+                            "title VARCHAR(100) NOT NULL, " +
+                            "color VARCHAR(20), " +
+                            "position INT DEFAULT 0, " +
+                            "is_archived BOOLEAN DEFAULT FALSE, " +
+                            "created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP, " +
+                            "archived_at TIMESTAMP NULL, " +
+                            "FOREIGN KEY (project_id) REFERENCES projects(id) ON DELETE CASCADE)"),
+                    sql("CREATE TABLE IF NOT EXISTS tasks (" +
+                            "id INT AUTO_INCREMENT PRIMARY KEY, " +
+                            "column_id INT NOT NULL, " +
+                            "title VARCHAR(255) NOT NULL, " +
+                            "description TEXT, " +
+                            "position INT DEFAULT 0, " +
+                            "priority VARCHAR(20) DEFAULT 'medium', " +
+                            "due_date DATE, " +
+                            "is_completed BOOLEAN DEFAULT FALSE, " +
+                            "is_archived BOOLEAN DEFAULT FALSE, " +
+                            "completed_at TIMESTAMP NULL, " +
+                            "created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP, " +
+                            "updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP, " +
+                            "FOREIGN KEY (column_id) REFERENCES columns(id) ON DELETE CASCADE)"),
+                    sql("CREATE TABLE IF NOT EXISTS attachments (" +
+                            "id INT AUTO_INCREMENT PRIMARY KEY, " +
+                            "task_id INT NOT NULL, " +
+                            "filename VARCHAR(255) NOT NULL, " +
+                            "file_path VARCHAR(500) NOT NULL, " +
+                            "file_type VARCHAR(50), " +
+                            "uploaded_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP, " +
+                            "FOREIGN KEY (task_id) REFERENCES tasks(id) ON DELETE CASCADE)"),
+                    sql("CREATE TABLE IF NOT EXISTS labels (" +
+                            "id INT AUTO_INCREMENT PRIMARY KEY, " +
+                            "name VARCHAR(50) NOT NULL, " +
+                            "color VARCHAR(20), " +
+                            "description VARCHAR(255))"),
+                    sql("CREATE TABLE IF NOT EXISTS project_members (" +
+                            "id INT AUTO_INCREMENT PRIMARY KEY, " +
+                            "project_id INT NOT NULL, " +
+                            "username VARCHAR(50) NOT NULL, " +
+                            "email VARCHAR(100), " +
+                            "role VARCHAR(20), " +
+                            "status VARCHAR(20), " +
+                            "FOREIGN KEY (project_id) REFERENCES projects(id) ON DELETE CASCADE)")),
+            new Migration(2, "Индексы для запросов доски",
+                    index("tasks", "idx_tasks_column_archived_position", "column_id, is_archived, position"),
+                    index("columns", "idx_columns_project_archived_position", "project_id, is_archived, position"),
+                    index("attachments", "idx_attachments_task_uploaded", "task_id, uploaded_at"),
+                    index("project_members", "idx_project_members_project_role", "project_id, role, username"),
+                    index("projects", "idx_projects_user_archived_position", "user_id, is_archived, position")),
+            new Migration(3, "Надгробия удалённых задач и индекс для дельта-синхронизации",
+                    sql("CREATE TABLE IF NOT EXISTS task_tombstones (" +
+                            "id INT AUTO_INCREMENT PRIMARY KEY, " +
+                            "task_id INT NOT NULL, " +
+                            "project_id INT NOT NULL, " +
+                            "deleted_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP)"),
+                    index("task_tombstones", "idx_task_tombstones_project_deleted", "project_id, deleted_at"),
+                    index("tasks", "idx_tasks_column_updated", "column_id, updated_at")),
+            new Migration(4, "Счётчик вложений в задачах",
+                    column("tasks", "attachment_count", "INT NOT NULL DEFAULT 0"),
+                    sql(AttachmentDAO.REPAIR_COUNTS_SQL)),
+            new Migration(5, "Ключ сортировки и индекс для страниц архива",
+                    sql("UPDATE tasks SET updated_at = COALESCE(created_at, CURRENT_TIMESTAMP) WHERE updated_at IS NULL"),
+                    sql("ALTER TABLE tasks MODIFY COLUMN updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP"),
+                    index("tasks", "idx_tasks_archived_updated_id", "is_archived, updated_at, id"))
+    );
+
+    public static synchronized boolean migrate() {
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            if (conn == null) {
+                return false;
+            }
+            if (!acquireLock(conn)) {
+                System.err.println("[SchemaMigrator] Не удалось получить блокировку миграций");
+                return false;
+            }
+            try {
+                ensureVersionTable(conn);
+                Set<Integer> applied = loadAppliedVersions(conn);
+                int count = 0;
+                for (Migration migration : MIGRATIONS) {
+                    if (applied.contains(migration.version)) {
+                        continue;
+                    }
+                    System.out.println("[SchemaMigrator] Применение миграции V" + migration.version +
+                            ": " + migration.description);
+                    for (MigrationStep step : migration.steps) {
+                        step.apply(conn);
+                    }
+                    recordVersion(conn, migration);
+                    count++;
+                }
+                System.out.println("[SchemaMigrator] Схема актуальна, применено миграций: " + count);
+                return true;
+            } finally {
+                releaseLock(conn);
+            }
+        } catch (SQLException e) {
+            System.err.println("[SchemaMigrator] Ошибка миграции схемы: " + e.getMessage());
+            e.printStackTrace();
+            return false;
+        }
+    }
+
+    public static int getLatestVersion() {
+        return MIGRATIONS.get(MIGRATIONS.size() - 1).version;
+    }
+
+    private static boolean acquireLock(Connection conn) throws SQLException {
+        if (!DatabaseConnection.getDialect().supportsNamedLocks()) {
+            return true;
+        }
+        try (PreparedStatement stmt = conn.prepareStatement("SELECT GET_LOCK(?, ?)")) {
+            stmt.setString(1, LOCK_NAME);
+            stmt.setInt(2, LOCK_TIMEOUT_SEC);
+            ResultSet rs = stmt.executeQuery();
+            return rs.next() && rs.getInt(1) == 1;
+        }
+    }
+
+    private static void releaseLock(Connection conn) {
+        if (!DatabaseConnection.getDialect().supportsNamedLocks()) {
+            return;
+        }
+        try (PreparedStatement stmt = conn.prepareStatement("SELECT RELEASE_LOCK(?)")) {
+            stmt.setString(1, LOCK_NAME);
+            stmt.executeQuery();
+        } catch (SQLException e) {
+            System.err.println("[SchemaMigrator] Ошибка снятия блокировки: " + e.getMessage());
+        }
+    }
+
+    private static void ensureVersionTable(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            stmt.executeUpdate("CREATE TABLE IF NOT EXISTS schema_migrations (" +
+                    "version INT PRIMARY KEY, " +
+                    "description VARCHAR(255) NOT NULL, " +
+                    "applied_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP)");
+        }
+    }
+
+    private static Set<Integer> loadAppliedVersions(Connection conn) throws SQLException {
+        Set<Integer> versions = new HashSet<>();
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT version FROM schema_migrations")) {
+            while (rs.next()) {
+                versions.add(rs.getInt("version"));
+            }
+        }
+        return versions;
+    }
+
+    private static void recordVersion(Connection conn, Migration migration) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(
+                "INSERT INTO schema_migrations (version, description) VALUES (?, ?)")) {
+            stmt.setInt(1, migration.version);
+            stmt.setString(2, migration.description);
+            stmt.executeUpdate();
+        }
+    }
+
+    private static boolean indexExists(Connection conn, String table, String indexName) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(DatabaseConnection.getDialect().indexExistsSql())) {
+            stmt.setString(1, table);
+            stmt.setString(2, indexName);
+            ResultSet rs = stmt.executeQuery();
+            return rs.next() && rs.getInt(1) > 0;
+        }
+    }
+
+    private static boolean columnExists(Connection conn, String table, String column) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(DatabaseConnection.getDialect().columnExistsSql())) {
+            stmt.setString(1, table);
+            stmt.setString(2, column);
+            ResultSet rs = stmt.executeQuery();
+            return rs.next() && rs.getInt(1) > 0;
+        }
+    }
+
+    private static MigrationStep sql(String ddl) {
+        return conn -> {
+            try (Statement stmt = conn.createStatement()) {
+                stmt.executeUpdate(ddl);
+            }
+        };
+    }
+
+    private static MigrationStep index(String table, String indexName, String columns) {
+        return conn -> {
+            if (indexExists(conn, table, indexName)) {
+                return;
+            }
+            try (Statement stmt = conn.createStatement()) {
+                stmt.executeUpdate("CREATE INDEX " + indexName + " ON " + table + " (" + columns + ")");
+            }
+            System.out.println("[SchemaMigrator] Создан индекс " + indexName);
+        };
+    }
+
+    private static MigrationStep column(String table, String column, String definition) {
+        return conn -> {
+            if (columnExists(conn, table, column)) {
+                return;
+            }
+            try (Statement stmt = conn.createStatement()) {
+                stmt.executeUpdate("ALTER TABLE " + table + " ADD COLUMN " + column + " " + definition);
+            }
+            System.out.println("[SchemaMigrator] Добавлена колонка " + table + "." + column);
+        };
+    }
+
+    private interface MigrationStep {
+        void apply(Connection conn) throws SQLException;
+    }
+
+    private static class Migration {
+        private final int version;
+        private final String description;
+        private final List<MigrationStep> steps;
+
+        Migration(int version, String description, MigrationStep... steps) {
+            this.version = version;
+            this.description = description;
+            this.steps = Arrays.asList(steps);
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package dao;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+public enum SqlDialect {
+    MYSQL("com.mysql.cj.jdbc.Driver", "DATABASE()", "information_schema.statistics", true),
+    H2("org.h2.Driver", "CURRENT_SCHEMA", "information_schema.indexes", false);
+
+    private final String driverClass;
+    private final String currentSchema;
+    private final String indexCatalog;
+    private final boolean namedLocks;
+
+    SqlDialect(String driverClass, String currentSchema, String indexCatalog, boolean namedLocks) {
+        this.driverClass = driverClass;
+        this.currentSchema = currentSchema;
+        this.indexCatalog = indexCatalog;
+        this.namedLocks = namedLocks;
+    }
+
+    public static SqlDialect fromUrl(String url) {
+        return url.startsWith("jdbc:h2:") ? H2 : MYSQL;
+    }
+
+    public String getDriverClass() {
+        return driverClass;
+    }
+
+    public boolean supportsNamedLocks() {
+        return namedLocks;
+    }
+
+    public String tableExistsSql() {
+        return "SELECT COUNT(*) FROM information_schema.tables " +
+                "WHERE table_schema = " + currentSchema + " AND LOWER(table_name) = LOWER(?)";
+    }
+
+    public String columnExistsSql() {
+        return "SELECT COUNT(*) FROM information_schema.columns " +
+                "WHERE table_schema = " + currentSchema + " AND LOWER(table_name) = LOWER(?) " +
+                "AND LOWER(column_name) = LOWER(?)";
+    }
+
+    public String indexExistsSql() {
+        return "SELECT COUNT(*) FROM " + indexCatalog + " " +
+                "WHERE table_schema = " + currentSchema + " AND LOWER(table_name) = LOWER(?) " +
+                "AND LOWER(index_name) = LOWER(?)";
+    }
+
+    public String explainFullScan(ResultSet plan) throws SQLException {
+        if (this == H2) {
+            String text = plan.getString(1);
+            int scan = text.indexOf(".tableScan");
+            if (scan < 0) {
+                return null;
+            }
+            int start = text.lastIndexOf(' ', scan) + 1;
+            return text.substring(start, scan);
+        }
+        if ("ALL".equalsIgnoreCase(plan.getString("type"))) {
+            return plan.getString("table");
+        }
+        return null;
+    }
+
+    public String explainFilesort(ResultSet plan) throws SQLException {
+        if (this == H2) {
+            return null;
+        }
+        String extra = plan.getString("Extra");
+        if (extra != null && extra.contains("Using filesort")) {
+            return plan.getString("table");
+        }
+        return null;
+    }
+}
@@ -0,0 +1,217 @@
+package dao;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class StatementCache {
+    private static final AtomicLong hitCount = new AtomicLong();
+    private static final AtomicLong missCount = new AtomicLong();
+    private static final AtomicLong evictionCount = new AtomicLong();
+
+    private final Connection raw;
+    private final int capacity;
+    private final LinkedHashMap<String, CachedStatement> statements = new LinkedHashMap<>(16, 0.75f, true);
+
+    StatementCache(Connection raw, int capacity) {
+        this.raw = raw;
+        this.capacity = capacity;
+    }
+
+    PreparedStatement prepare(String sql, int autoGeneratedKeys) throws SQLException {
+        String key = autoGeneratedKeys == Statement.RETURN_GENERATED_KEYS ? "K|" + sql : "N|" + sql;
+        CachedStatement cached = statements.get(key);
+        if (cached != null && !cached.inUse && (cached.evicted || cached.stmt.isClosed())) {
+            statements.remove(key);
+            cached = null;
+        }
+        if (cached != null && !cached.inUse) {
+            hitCount.incrementAndGet();
+            cached.inUse = true;
+            return cached.proxy;
+        }
+        missCount.incrementAndGet();
+        PreparedStatement stmt = autoGeneratedKeys == Statement.RETURN_GENERATED_KEYS
+                ? raw.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)
+                : raw.prepareStatement(sql);
+        if (cached != null) {
+            return stmt;
+        }
+        cached = new CachedStatement(stmt);
+        cached.inUse = true;
+        statements.put(key, cached);
+        evictOverflow();
+        return cached.proxy;
+    }
+
+    private void evictOverflow() {
+        Iterator<CachedStatement> it = statements.values().iterator();
+        while (statements.size() > capacity && it.hasNext()) {
+            CachedStatement eldest = it.next();
+            it.remove();
+            evictionCount.incrementAndGet();
+            eldest.evicted = true;
+            if (!eldest.inUse) {
+                eldest.closeRaw();
+            }
+        }
+    }
+
+    void releaseAll() {
+        for (CachedStatement cached : statements.values()) {
+            if (cached.inUse) {
+                cached.release();
+            }
+        }
+    }
+
+    void closeAll() {
+        for (CachedStatement cached : statements.values()) {
+            cached.closeRaw();
+        }
+        statements.clear();
+    }
+
+    int size() {
+        return statements.size();
+    }
+
+    public static long getHitCount() {
+        return hitCount.get();
+    }
+
+    public static long getMissCount() {
+        return missCount.get();
+    }
+
+    public static long getEvictionCount() {
+        return evictionCount.get();
+    }
+
+    public static String getStats() {
+        long hits = getHitCount();
+        long total = hits + getMissCount();
+        long hitRate = total == 0 ? 0 : Math.round(hits * 100.0 / total);
+        return "попаданий=" + hits + ", промахов=" + getMissCount() +
+                ", вытеснений=" + getEvictionCount() + ", hit rate=" + hitRate + "%";
+    }
+
+    private static class CachedStatement implements InvocationHandler {
+        private static final Set<String> PROPERTY_SETTERS = Set.of(
+                "setFetchSize", "setFetchDirection", "setMaxRows", "setLargeMaxRows",
+                "setQueryTimeout", "setMaxFieldSize", "setEscapeProcessing", "setCursorName", "setPoolable");
+
+        private final PreparedStatement stmt;
+        private final PreparedStatement proxy;
+        private final List<ResultSet> openResults = new ArrayList<>();
+        private final int defaultFetchSize;
+        private final int defaultFetchDirection;
+        private final int defaultMaxRows;
+        private final int defaultQueryTimeout;
+        private final int defaultMaxFieldSize;
+        private boolean inUse;
+        private boolean evicted;
+        private boolean propertiesChanged;
+
+        CachedStatement(PreparedStatement stmt) throws SQLException {
+            this.stmt = stmt;
+            this.defaultFetchSize = stmt.getFetchSize();
+            this.defaultFetchDirection = stmt.getFetchDirection();
+            this.defaultMaxRows = stmt.getMaxRows();
+            this.defaultQueryTimeout = stmt.getQueryTimeout();
+            this.defaultMaxFieldSize = stmt.getMaxFieldSize();
+            this.proxy = (PreparedStatement) Proxy.newProxyInstance(
+                    PreparedStatement.class.getClassLoader(),
+                    new Class<?>[]{PreparedStatement.class},
+                    this);
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (inUse) {
+                        release();
+                    }
+                    return null;
+                case "isClosed":
+                    return !inUse || stmt.isClosed();
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                default:
+                    break;
+            }
+            if (!inUse) {
+                throw new SQLException("Запрос уже закрыт");
+            }
+            if (PROPERTY_SETTERS.contains(method.getName())) {
+                if ("setCursorName".equals(method.getName()) || "setEscapeProcessing".equals(method.getName())
+                        || "setPoolable".equals(method.getName())) {
+                    evicted = true;
+                }
+                propertiesChanged = true;
+            }
+            Object result;
+            try {
+                result = method.invoke(stmt, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+            if (result instanceof ResultSet && "executeQuery".equals(method.getName())) {
+                openResults.add((ResultSet) result);
+            }
+            return result;
+        }
+
+        void release() {
+            inUse = false;
+            try {
+                for (ResultSet rs : openResults) {
+                    rs.close();
+                }
+                openResults.clear();
+                stmt.clearParameters();
+                stmt.clearBatch();
+                if (propertiesChanged && !evicted) {
+                    resetProperties();
+                }
+            } catch (SQLException e) {
+                evicted = true;
+            }
+            if (evicted) {
+                closeRaw();
+            }
+        }
+
+        private void resetProperties() throws SQLException {
+            stmt.setMaxRows(defaultMaxRows);
+            stmt.setMaxFieldSize(defaultMaxFieldSize);
+            stmt.setQueryTimeout(defaultQueryTimeout);
+            stmt.setFetchDirection(defaultFetchDirection);
+            stmt.setFetchSize(defaultFetchSize);
+            propertiesChanged = false;
+        }
+
+        void closeRaw() {
+            try {
+                stmt.close();
+            } catch (SQLException e) {
+                System.err.println("[StatementCache] Ошибка при закрытии запроса: " + e.getMessage());
+            }
+        }
+    }
+}
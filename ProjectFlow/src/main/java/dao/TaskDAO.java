@@ -1,22 +1,66 @@
 package dao;
 
+import models.Column;
 import models.Task;
+import models.TaskChanges;
 import java.sql.*;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
 
 public class TaskDAO {
+    private static final String INSERT_SQL = "INSERT INTO tasks (column_id, title, description, position, priority, due_date, " +
+            "is_completed, is_archived) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String UPDATE_SQL = "UPDATE tasks SET column_id = ?, title = ?, description = ?, position = ?, " +
+            "priority = ?, due_date = ?, is_completed = ?, is_archived = ?, " +
+            "completed_at = ?, updated_at = CURRENT_TIMESTAMP WHERE id = ?";
+    private static final String UPDATE_SUMMARY_SQL = "UPDATE tasks SET column_id = ?, title = ?, position = ?, " +
+            "priority = ?, due_date = ?, is_completed = ?, is_archived = ?, " +
+            "completed_at = ?, updated_at = CURRENT_TIMESTAMP WHERE id = ?";
+    static final String COLUMN_TASKS_SQL = "SELECT " + TaskRowMapper.SUMMARY_COLUMNS + " FROM tasks t " +
+            "WHERE t.column_id = ? AND t.is_archived = FALSE ORDER BY t.position, t.created_at";
+    static final String PROJECT_TASKS_SQL = "SELECT t.* FROM tasks t " +
+            "JOIN columns c ON t.column_id = c.id " +
+            "WHERE c.project_id = ? AND c.is_archived = FALSE AND t.is_archived = FALSE ORDER BY t.created_at DESC";
+    private static final String SEARCH_SQL = "SELECT t.* FROM tasks t " +
+            "JOIN columns c ON t.column_id = c.id " +
+            "WHERE c.project_id = ? AND (t.title LIKE ? OR t.description LIKE ?) " +
+            "AND t.is_archived = FALSE";
+    static final String ARCHIVE_PAGE_SQL = "SELECT t.* FROM tasks t " +
+            "JOIN columns c ON t.column_id = c.id " +
+            "WHERE c.project_id = ? AND t.is_archived = TRUE " +
+            "ORDER BY t.updated_at DESC, t.id DESC LIMIT ?";
+    static final String ARCHIVE_PAGE_AFTER_SQL = "SELECT t.* FROM tasks t " +
+            "JOIN columns c ON t.column_id = c.id " +
+            "WHERE c.project_id = ? AND t.is_archived = TRUE " +
+            "AND (t.updated_at < ? OR (t.updated_at = ? AND t.id < ?)) " +
+            "ORDER BY t.updated_at DESC, t.id DESC LIMIT ?";
+    private static final int STREAM_FETCH_SIZE = Integer.getInteger("projectflow.fetchSize", 500);
+    static final String CHANGED_SINCE_SQL = "SELECT " + TaskRowMapper.SUMMARY_COLUMNS + " FROM tasks t " +
+            "JOIN columns c ON t.column_id = c.id " +
+            "WHERE c.project_id = ? AND t.updated_at >= ?";
+    static final String TOMBSTONES_SINCE_SQL = "SELECT task_id FROM task_tombstones " +
+            "WHERE project_id = ? AND deleted_at >= ?";
+    private static final String TOMBSTONE_TASK_SQL = "INSERT INTO task_tombstones (task_id, project_id) " +
+            "SELECT t.id, c.project_id FROM tasks t JOIN columns c ON t.column_id = c.id WHERE t.id = ?";
+    static final String TOMBSTONE_COLUMN_SQL = "INSERT INTO task_tombstones (task_id, project_id) " +
+            "SELECT t.id, c.project_id FROM tasks t JOIN columns c ON t.column_id = c.id WHERE t.column_id = ?";
+    private static final long SYNC_OVERLAP_MS = Long.getLong("projectflow.syncOverlapMs", 2000);
+    private final TaskRepository repository = TaskRepository.getInstance();
+    private final ColumnDAO columnDAO = new ColumnDAO();
+    private static final String UPDATE_POSITION_SQL = "UPDATE tasks SET column_id = ?, position = ?, " +
+            "updated_at = CURRENT_TIMESTAMP WHERE id = ?";
 
     public List<Task> findByColumnId(int columnId) {
         List<Task> tasks = new ArrayList<>();
-        String sql = "SELECT * FROM tasks WHERE column_id = ? AND is_archived = FALSE ORDER BY position, created_at";
-        try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
+        try (Connection conn = DatabaseConnection.getReadConnection();
+             PreparedStatement stmt = conn.prepareStatement(COLUMN_TASKS_SQL)) {
             stmt.setInt(1, columnId);
             ResultSet rs = stmt.executeQuery();
+            TaskRowMapper mapper = new TaskRowMapper(rs, true);
             while (rs.next()) {
-                tasks.add(mapResultSetToTask(rs));
+                tasks.add(mapper.map(rs));
             }
         } catch (SQLException e) {
             System.err.println("Ошибка при поиске задач колонки: " + e.getMessage());
@@ -32,7 +76,7 @@ public class TaskDAO {
             stmt.setInt(1, id);
             ResultSet rs = stmt.executeQuery();
             if (rs.next()) {
-                return mapResultSetToTask(rs);
+                return new TaskRowMapper(rs, false).map(rs);
             }
         } catch (SQLException e) {
             System.err.println("Ошибка при поиске задачи по ID: " + e.getMessage());
@@ -41,18 +85,38 @@ public class TaskDAO {
         return null;
     }
 
+    public Task findDetails(int taskId) {
+        String sql = "SELECT description FROM tasks WHERE id = ?";
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setInt(1, taskId);
+            ResultSet rs = stmt.executeQuery();
+            if (rs.next()) {
+                Task details = new Task();
+                details.setId(taskId);
+                details.setDescription(rs.getString("description"));
+                return details;
+            }
+        } catch (SQLException e) {
+            System.err.println("Ошибка при загрузке описания задачи: " + e.getMessage());
+            e.printStackTrace();
+        }
+        return null;
+    }
+
     public List<Task> findArchivedTasksByProjectId(int projectId) {
         List<Task> tasks = new ArrayList<>();
         String sql = "SELECT t.* FROM tasks t " +
                 "JOIN columns c ON t.column_id = c.id " +
                 "WHERE c.project_id = ? AND t.is_archived = TRUE " +
                 "ORDER BY t.updated_at DESC";
-        try (Connection conn = DatabaseConnection.getConnection();
+        try (Connection conn = DatabaseConnection.getReadConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
             stmt.setInt(1, projectId);
             ResultSet rs = stmt.executeQuery();
+            TaskRowMapper mapper = new TaskRowMapper(rs, false);
             while (rs.next()) {
-                tasks.add(mapResultSetToTask(rs));
+                tasks.add(mapper.map(rs));
             }
         } catch (SQLException e) {
             System.err.println("Ошибка при поиске архивных задач проекта: " + e.getMessage());
@@ -61,13 +125,62 @@ public class TaskDAO {
         return tasks;
     }
 
+    public List<Task> findArchivedPage(int projectId, Task after, int limit) {
+        List<Task> tasks = new ArrayList<>();
+        boolean seek = after != null;
+        String sql = seek ? ARCHIVE_PAGE_AFTER_SQL : ARCHIVE_PAGE_SQL;
+        try (Connection conn = DatabaseConnection.getReadConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setInt(1, projectId);
+            if (seek) {
+                Timestamp updatedAt = Timestamp.valueOf(after.getUpdatedAt());
+                stmt.setTimestamp(2, updatedAt);
+                stmt.setTimestamp(3, updatedAt);
+                stmt.setInt(4, after.getId());
+                stmt.setInt(5, limit);
+            } else {
+                stmt.setInt(2, limit);
+            }
+            ResultSet rs = stmt.executeQuery();
+            TaskRowMapper mapper = new TaskRowMapper(rs, false);
+            while (rs.next()) {
+                tasks.add(mapper.map(rs));
+            }
+        } catch (SQLException e) {
+            System.err.println("Ошибка при загрузке страницы архива: " + e.getMessage());
+            e.printStackTrace();
+        }
+        return tasks;
+    }
+
+    public int countArchivedByProjectId(int projectId) {
+        String sql = "SELECT COUNT(*) FROM tasks t " +
+                "JOIN columns c ON t.column_id = c.id " +
+                "WHERE c.project_id = ? AND t.is_archived = TRUE";
+        try (Connection conn = DatabaseConnection.getReadConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setInt(1, projectId);
+            ResultSet rs = stmt.executeQuery();
+            if (rs.next()) {
+                return rs.getInt(1);
+            }
+        } catch (SQLException e) {
+            System.err.println("Ошибка при подсчете архивных задач: " + e.getMessage());
+        }
+        return 0;
+    }
+
     public boolean archiveTask(int taskId) {
+        awaitWriteBehind();
         String sql = "UPDATE tasks SET is_archived = TRUE, updated_at = CURRENT_TIMESTAMP WHERE id = ?";
         try (Connection conn = DatabaseConnection.getConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
             stmt.setInt(1, taskId);
             int result = stmt.executeUpdate();
             System.out.println("Задача ID=" + taskId + " архивирована. Затронуто строк: " + result);
+            if (result > 0) {
+                repository.taskRemoved(taskId);
+            }
             return result > 0;
         } catch (SQLException e) {
             System.err.println("Ошибка при архивации задачи: " + e.getMessage());
@@ -77,12 +190,16 @@ public class TaskDAO {
     }
 
     public boolean restoreTask(int taskId) {
+        awaitWriteBehind();
         String sql = "UPDATE tasks SET is_archived = FALSE, updated_at = CURRENT_TIMESTAMP WHERE id = ?";
         try (Connection conn = DatabaseConnection.getConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
             stmt.setInt(1, taskId);
             int result = stmt.executeUpdate();
             System.out.println("Задача ID=" + taskId + " восстановлена. Затронуто строк: " + result);
+            if (result > 0) {
+                repository.invalidate();
+            }
             return result > 0;
         } catch (SQLException e) {
             System.err.println("Ошибка при восстановлении задачи: " + e.getMessage());
@@ -93,40 +210,43 @@ public class TaskDAO {
 
     public List<Task> findByProjectId(int projectId) {
         List<Task> tasks = new ArrayList<>();
-        String sql = "SELECT t.* FROM tasks t " +
-                "JOIN columns c ON t.column_id = c.id " +
-                "WHERE c.project_id = ? AND t.is_archived = FALSE ORDER BY t.created_at DESC";
-        try (Connection conn = DatabaseConnection.getConnection();
+        forEachByProjectId(projectId, tasks::add);
+        return tasks;
+    }
+
+    public boolean forEachByProjectId(int projectId, Consumer<Task> action) {
+        return forEach(PROJECT_TASKS_SQL, action, "Ошибка при поиске задач проекта: ", projectId);
+    }
+
+    public boolean forEachMatching(int projectId, String query, Consumer<Task> action) {
+        String pattern = "%" + query + "%";
+        return forEach(SEARCH_SQL, action, "Ошибка поиска задач: ", projectId, pattern, pattern);
+    }
+
+    private boolean forEach(String sql, Consumer<Task> action, String errorMessage, Object... params) {
+        try (Connection conn = DatabaseConnection.getReadConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
-            stmt.setInt(1, projectId);
+            stmt.setFetchSize(STREAM_FETCH_SIZE);
+            for (int i = 0; i < params.length; i++) {
+                stmt.setObject(i + 1, params[i]);
+            }
             ResultSet rs = stmt.executeQuery();
+            TaskRowMapper mapper = new TaskRowMapper(rs, false);
             while (rs.next()) {
-                tasks.add(mapResultSetToTask(rs));
+                action.accept(mapper.map(rs));
             }
+            return true;
         } catch (SQLException e) {
-            System.err.println("Ошибка при поиске задач проекта: " + e.getMessage());
+            System.err.println(errorMessage + e.getMessage());
             e.printStackTrace();
         }
-        return tasks;
+        return false;
     }
 
     public boolean create(Task task) {
-        String sql = "INSERT INTO tasks (column_id, title, description, position, priority, due_date, " +
-                "is_completed, is_archived) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
         try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
-            stmt.setInt(1, task.getColumnId());
-            stmt.setString(2, task.getTitle());
-            stmt.setString(3, task.getDescription());
-            stmt.setInt(4, task.getPosition());
-            stmt.setString(5, task.getPriority().name().toLowerCase());
-            if (task.getDueDate() != null) {
-                stmt.setDate(6, Date.valueOf(task.getDueDate()));
-            } else {
-                stmt.setNull(6, Types.DATE);
-            }
-            stmt.setBoolean(7, task.isCompleted());
-            stmt.setBoolean(8, task.isArchived());
+             PreparedStatement stmt = conn.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS)) {
+            bindInsert(stmt, task);
             int affectedRows = stmt.executeUpdate();
             if (affectedRows > 0) {
                 try (ResultSet generatedKeys = stmt.getGeneratedKeys()) {
@@ -134,6 +254,7 @@ public class TaskDAO {
                         task.setId(generatedKeys.getInt(1));
                     }
                 }
+                repository.taskSaved(task);
                 return true;
             }
         } catch (SQLException e) {
@@ -144,30 +265,18 @@ public class TaskDAO {
     }
 
     public boolean update(Task task) {
-        String sql = "UPDATE tasks SET column_id = ?, title = ?, description = ?, position = ?, " +
-                "priority = ?, due_date = ?, is_completed = ?, is_archived = ?, " +
-                "completed_at = ?, updated_at = CURRENT_TIMESTAMP WHERE id = ?";
+        awaitWriteBehind();
         try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-            stmt.setInt(1, task.getColumnId());
-            stmt.setString(2, task.getTitle());
-            stmt.setString(3, task.getDescription());
-            stmt.setInt(4, task.getPosition());
-            stmt.setString(5, task.getPriority().name().toLowerCase());
-            if (task.getDueDate() != null) {
-                stmt.setDate(6, Date.valueOf(task.getDueDate()));
+             PreparedStatement stmt = conn.prepareStatement(task.isSummary() ? UPDATE_SUMMARY_SQL : UPDATE_SQL)) {
+            if (task.isSummary()) {
+                bindSummaryUpdate(stmt, task);
             } else {
-                stmt.setNull(6, Types.DATE);
+                bindUpdate(stmt, task);
             }
-            stmt.setBoolean(7, task.isCompleted());
-            stmt.setBoolean(8, task.isArchived());
-            if (task.getCompletedAt() != null) {
-                stmt.setTimestamp(9, Timestamp.valueOf(task.getCompletedAt()));
-            } else {
-                stmt.setNull(9, Types.TIMESTAMP);
+            if (stmt.executeUpdate() > 0) {
+                repository.taskSaved(task);
+                return true;
             }
-            stmt.setInt(10, task.getId());
-            return stmt.executeUpdate() > 0;
         } catch (SQLException e) {
             System.err.println("Ошибка при обновлении задачи: " + e.getMessage());
             e.printStackTrace();
@@ -175,13 +284,188 @@ public class TaskDAO {
         return false;
     }
 
+    public boolean createAll(List<Task> tasks) {
+        if (tasks.isEmpty()) return true;
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            conn.setAutoCommit(false);
+            try (PreparedStatement stmt = conn.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS)) {
+                for (Task task : tasks) {
+                    bindInsert(stmt, task);
+                    stmt.addBatch();
+                }
+                stmt.executeBatch();
+                try (ResultSet generatedKeys = stmt.getGeneratedKeys()) {
+                    for (Task task : tasks) {
+                        if (!generatedKeys.next()) break;
+                        task.setId(generatedKeys.getInt(1));
+                    }
+                }
+                conn.commit();
+                repository.tasksSaved(tasks);
+                return true;
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
+        } catch (SQLException e) {
+            System.err.println("Ошибка при пакетном создании задач: " + e.getMessage());
+            e.printStackTrace();
+        }
+        return false;
+    }
+
+    public boolean updateAll(List<Task> tasks) {
+        awaitWriteBehind();
+        if (executeUpdateAll(tasks)) {
+            repository.tasksSaved(tasks);
+            return true;
+        }
+        return false;
+    }
+
+    boolean writeAll(List<Task> tasks) {
+        return executeUpdateAll(tasks);
+    }
+
+    private static void awaitWriteBehind() {
+        if (!DatabaseConnection.isInTransaction()) {
+            TaskWriteBehind.getInstance().flush();
+        }
+    }
+
+    private boolean executeUpdateAll(List<Task> tasks) {
+        List<Task> full = new ArrayList<>();
+        List<Task> summaries = new ArrayList<>();
+        for (Task task : tasks) {
+            (task.isSummary() ? summaries : full).add(task);
+        }
+        if (summaries.isEmpty() || full.isEmpty()) {
+            return summaries.isEmpty()
+                    ? executeBatch(UPDATE_SQL, full, this::bindUpdate, "Ошибка при пакетном обновлении задач: ")
+                    : executeBatch(UPDATE_SUMMARY_SQL, summaries, this::bindSummaryUpdate, "Ошибка при пакетном обновлении задач: ");
+        }
+        try {
+            return DatabaseConnection.inTransaction(() ->
+                    executeBatch(UPDATE_SQL, full, this::bindUpdate, "Ошибка при пакетном обновлении задач: ") &&
+                    executeBatch(UPDATE_SUMMARY_SQL, summaries, this::bindSummaryUpdate, "Ошибка при пакетном обновлении задач: "));
+        } catch (SQLException e) {
+            System.err.println("Ошибка при пакетном обновлении задач: " + e.getMessage());
+            return false;
+        }
+    }
+
+    public boolean updatePositions(List<Task> tasks) {
+        awaitWriteBehind();
+        boolean updated = executeBatch(UPDATE_POSITION_SQL, tasks, (stmt, task) -> {
+            stmt.setInt(1, task.getColumnId());
+            stmt.setInt(2, task.getPosition());
+            stmt.setInt(3, task.getId());
+        }, "Ошибка при обновлении позиций задач: ");
+        if (updated) {
+            repository.tasksSaved(tasks);
+        }
+        return updated;
+    }
+
+    private boolean executeBatch(String sql, List<Task> tasks, TaskBinder binder, String errorMessage) {
+        if (tasks.isEmpty()) return true;
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            conn.setAutoCommit(false);
+            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                for (Task task : tasks) {
+                    binder.bind(stmt, task);
+                    stmt.addBatch();
+                }
+                stmt.executeBatch();
+                conn.commit();
+                return true;
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
+        } catch (SQLException e) {
+            System.err.println(errorMessage + e.getMessage());
+            e.printStackTrace();
+        }
+        return false;
+    }
+
+    private interface TaskBinder {
+        void bind(PreparedStatement stmt, Task task) throws SQLException;
+    }
+
+    private void bindInsert(PreparedStatement stmt, Task task) throws SQLException {
+        stmt.setInt(1, task.getColumnId());
+        stmt.setString(2, task.getTitle());
+        stmt.setString(3, task.getDescription());
+        stmt.setInt(4, task.getPosition());
+        stmt.setString(5, task.getPriority().name().toLowerCase());
+        if (task.getDueDate() != null) {
+            stmt.setDate(6, Date.valueOf(task.getDueDate()));
+        } else {
+            stmt.setNull(6, Types.DATE);
+        }
+        stmt.setBoolean(7, task.isCompleted());
+        stmt.setBoolean(8, task.isArchived());
+    }
+
+    private void bindUpdate(PreparedStatement stmt, Task task) throws SQLException {
+        stmt.setInt(1, task.getColumnId());
+        stmt.setString(2, task.getTitle());
+        stmt.setString(3, task.getDescription());
+        stmt.setInt(4, task.getPosition());
+        stmt.setString(5, task.getPriority().name().toLowerCase());
+        if (task.getDueDate() != null) {
+            stmt.setDate(6, Date.valueOf(task.getDueDate()));
+        } else {
+            stmt.setNull(6, Types.DATE);
+        }
+        stmt.setBoolean(7, task.isCompleted());
+        stmt.setBoolean(8, task.isArchived());
+        if (task.getCompletedAt() != null) {
+            stmt.setTimestamp(9, Timestamp.valueOf(task.getCompletedAt()));
+        } else {
+            stmt.setNull(9, Types.TIMESTAMP);
+        }
+        stmt.setInt(10, task.getId());
+    }
+
+    private void bindSummaryUpdate(PreparedStatement stmt, Task task) throws SQLException {
+        stmt.setInt(1, task.getColumnId());
+        stmt.setString(2, task.getTitle());
+        stmt.setInt(3, task.getPosition());
+        stmt.setString(4, task.getPriority().name().toLowerCase());
+        if (task.getDueDate() != null) {
+            stmt.setDate(5, Date.valueOf(task.getDueDate()));
+        } else {
+            stmt.setNull(5, Types.DATE);
+        }
+        stmt.setBoolean(6, task.isCompleted());
+        stmt.setBoolean(7, task.isArchived());
+        if (task.getCompletedAt() != null) {
+            stmt.setTimestamp(8, Timestamp.valueOf(task.getCompletedAt()));
+        } else {
+            stmt.setNull(8, Types.TIMESTAMP);
+        }
+        stmt.setInt(9, task.getId());
+    }
+
     public boolean delete(int id) {
-        String sql = "DELETE FROM tasks WHERE id = ?";
-        try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-            stmt.setInt(1, id);
-            int affectedRows = stmt.executeUpdate();
-            return affectedRows > 0;
+        awaitWriteBehind();
+        try {
+            boolean deleted = DatabaseConnection.inTransaction(() -> {
+                try (Connection conn = DatabaseConnection.getConnection()) {
+                    recordTombstones(conn, TOMBSTONE_TASK_SQL, id);
+                    try (PreparedStatement stmt = conn.prepareStatement("DELETE FROM tasks WHERE id = ?")) {
+                        stmt.setInt(1, id);
+                        return stmt.executeUpdate() > 0;
+                    }
+                }
+            });
+            if (deleted) {
+                repository.taskRemoved(id);
+            }
+            return deleted;
         } catch (SQLException e) {
             System.err.println("Ошибка при удалении задачи: " + e.getMessage());
             e.printStackTrace();
@@ -190,11 +474,19 @@ public class TaskDAO {
     }
 
     public boolean deleteByColumnId(int columnId) {
-        String sql = "DELETE FROM tasks WHERE column_id = ?";
-        try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-            stmt.setInt(1, columnId);
-            return stmt.executeUpdate() > 0;
+        awaitWriteBehind();
+        try {
+            boolean deleted = DatabaseConnection.inTransaction(() -> {
+                try (Connection conn = DatabaseConnection.getConnection()) {
+                    recordTombstones(conn, TOMBSTONE_COLUMN_SQL, columnId);
+                    try (PreparedStatement stmt = conn.prepareStatement("DELETE FROM tasks WHERE column_id = ?")) {
+                        stmt.setInt(1, columnId);
+                        return stmt.executeUpdate() > 0;
+                    }
+                }
+            });
+            repository.columnTasksRemoved(columnId);
+            return deleted;
         } catch (SQLException e) {
             System.err.println("Ошибка при удалении задач колонки: " + e.getMessage());
             e.printStackTrace();
@@ -202,60 +494,75 @@ public class TaskDAO {
         return false;
     }
 
-    public List<Task> searchInProject(int projectId, String query) {
-        List<Task> tasks = new ArrayList<>();
-        String sql = "SELECT t.* FROM tasks t " +
-                "JOIN columns c ON t.column_id = c.id " +
-                "WHERE c.project_id = ? AND (t.title LIKE ? OR t.description LIKE ?) " +
-                "AND t.is_archived = FALSE";
-        try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-            stmt.setInt(1, projectId);
-            stmt.setString(2, "%" + query + "%");
-            stmt.setString(3, "%" + query + "%");
-            ResultSet rs = stmt.executeQuery();
-            while (rs.next()) {
-                tasks.add(mapResultSetToTask(rs));
-            }
-        } catch (SQLException e) {
-            System.err.println("Ошибка поиска задач: " + e.getMessage());
+    static void recordTombstones(Connection conn, String sql, int id) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setInt(1, id);
+            stmt.executeUpdate();
         }
-        return tasks;
     }
 
-    private Task mapResultSetToTask(ResultSet rs) throws SQLException {
-        Task task = new Task();
-        task.setId(rs.getInt("id"));
-        task.setColumnId(rs.getInt("column_id"));
-        task.setTitle(rs.getString("title"));
-        task.setDescription(rs.getString("description"));
-        task.setPosition(rs.getInt("position"));
-        String priorityStr = rs.getString("priority");
-        if (priorityStr != null) {
-            try {
-                task.setPriority(Task.Priority.valueOf(priorityStr.toUpperCase()));
-            } catch (IllegalArgumentException e) {
-                task.setPriority(Task.Priority.MEDIUM);
+    public TaskChanges findChangedSince(int projectId, LocalDateTime watermark) {
+        try (Connection conn = DatabaseConnection.getReadConnection()) {
+            LocalDateTime next = syncWatermark(conn);
+            Timestamp since = Timestamp.valueOf(watermark);
+            List<Column> columns = new ArrayList<>();
+            try (PreparedStatement stmt = conn.prepareStatement(BoardDAO.COLUMNS_SQL)) {
+                stmt.setInt(1, projectId);
+                ResultSet rs = stmt.executeQuery();
+                while (rs.next()) {
+                    columns.add(columnDAO.mapResultSetToColumn(rs));
+                }
             }
+            List<Task> changed = new ArrayList<>();
+            try (PreparedStatement stmt = conn.prepareStatement(CHANGED_SINCE_SQL)) {
+                stmt.setInt(1, projectId);
+                stmt.setTimestamp(2, since);
+                ResultSet rs = stmt.executeQuery();
+                TaskRowMapper mapper = new TaskRowMapper(rs, true);
+                while (rs.next()) {
+                    changed.add(mapper.map(rs));
+                }
+            }
+            List<Integer> deleted = new ArrayList<>();
+            try (PreparedStatement stmt = conn.prepareStatement(TOMBSTONES_SINCE_SQL)) {
+                stmt.setInt(1, projectId);
+                stmt.setTimestamp(2, since);
+                ResultSet rs = stmt.executeQuery();
+                while (rs.next()) {
+                    deleted.add(rs.getInt("task_id"));
+                }
+            }
+            return new TaskChanges(projectId, columns, changed, deleted, next);
+        } catch (SQLException e) {
+            System.err.println("Ошибка при получении изменений задач: " + e.getMessage());
         }
-        Date dueDate = rs.getDate("due_date");
-        if (dueDate != null) {
-            task.setDueDate(dueDate.toLocalDate());
-        }
-        task.setCompleted(rs.getBoolean("is_completed"));
-        task.setArchived(rs.getBoolean("is_archived"));
-        Timestamp completedAt = rs.getTimestamp("completed_at");
-        if (completedAt != null) {
-            task.setCompletedAt(completedAt.toLocalDateTime());
-        }
-        Timestamp createdAt = rs.getTimestamp("created_at");
-        if (createdAt != null) {
-            task.setCreatedAt(createdAt.toLocalDateTime());
+        return null;
+    }
+
+    static LocalDateTime syncWatermark(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT CURRENT_TIMESTAMP")) {
+            rs.next();
+            long overlapMs = SYNC_OVERLAP_MS + DatabaseConnection.replicaLagAllowanceMs(conn);
+            return rs.getTimestamp(1).toLocalDateTime().minusNanos(overlapMs * 1_000_000);
         }
-        Timestamp updatedAt = rs.getTimestamp("updated_at");
-        if (updatedAt != null) {
-            task.setUpdatedAt(updatedAt.toLocalDateTime());
+    }
+
+    public int purgeTombstones(int retentionDays) {
+        String sql = "DELETE FROM task_tombstones WHERE deleted_at < ?";
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setTimestamp(1, Timestamp.valueOf(LocalDateTime.now().minusDays(retentionDays)));
+            return stmt.executeUpdate();
+        } catch (SQLException e) {
+            System.err.println("Ошибка при очистке надгробий задач: " + e.getMessage());
         }
-        return task;
+        return 0;
+    }
+
+    public List<Task> searchInProject(int projectId, String query) {
+        List<Task> tasks = new ArrayList<>();
+        forEachMatching(projectId, query, tasks::add);
+        return tasks;
     }
 }
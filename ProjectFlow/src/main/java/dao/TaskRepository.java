@@ -0,0 +1,392 @@
+package dao;
+
+import models.Board;
+import models.Column;
+import models.Task;
+import models.TaskChanges;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+
+public class TaskRepository {
+    private static final TaskRepository INSTANCE = new TaskRepository();
+    private static final Comparator<Task> BY_POSITION = Comparator.comparingInt(Task::getPosition)
+            .thenComparingInt(Task::getId);
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private int projectId = 0;
+    private boolean stale = true;
+    private final Map<Integer, Column> columns = new HashMap<>();
+    private final Map<Integer, Task> byId = new HashMap<>();
+    private final Map<Integer, List<Task>> byColumn = new HashMap<>();
+    private final TreeMap<LocalDate, List<Task>> byDueDate = new TreeMap<>();
+    private final Map<Integer, Integer> indexedColumn = new HashMap<>();
+    private final Map<Integer, LocalDate> indexedDueDate = new HashMap<>();
+
+    public static TaskRepository getInstance() {
+        return INSTANCE;
+    }
+
+    public void load(Board board) {
+        lock.writeLock().lock();
+        try {
+            clearIndexes();
+            projectId = board.getProjectId();
+            for (Column column : board.getColumns()) {
+                columns.put(column.getId(), column);
+                List<Task> columnTasks = new ArrayList<>();
+                byColumn.put(column.getId(), columnTasks);
+                for (Task task : board.getTasks(column.getId())) {
+                    register(task).add(task);
+                }
+                columnTasks.sort(BY_POSITION);
+            }
+            stale = false;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean isLoaded(int projectId) {
+        lock.readLock().lock();
+        try {
+            return !stale && this.projectId == projectId;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            clearIndexes();
+            projectId = 0;
+            stale = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public Task findById(int id) {
+        lock.readLock().lock();
+        try {
+            return byId.get(id);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public Column findColumn(int columnId) {
+        lock.readLock().lock();
+        try {
+            return columns.get(columnId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<Task> findByColumnId(int columnId) {
+        lock.readLock().lock();
+        try {
+            List<Task> tasks = byColumn.get(columnId);
+            return tasks != null ? new ArrayList<>(tasks) : new ArrayList<>();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<Task> findDueBetween(LocalDate from, LocalDate to) {
+        lock.readLock().lock();
+        try {
+            List<Task> tasks = new ArrayList<>();
+            for (List<Task> due : byDueDate.subMap(from, true, to, true).values()) {
+                tasks.addAll(due);
+            }
+            return tasks;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<Task> findDueOn(LocalDate date) {
+        return findDueBetween(date, date);
+    }
+
+    public List<Task> findAll(Predicate<Task> filter) {
+        lock.readLock().lock();
+        try {
+            List<Task> tasks = new ArrayList<>();
+            for (Task task : byId.values()) {
+                if (filter.test(task)) {
+                    tasks.add(task);
+                }
+            }
+            return tasks;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int applyChanges(TaskChanges changes) {
+        lock.writeLock().lock();
+        try {
+            if (stale || changes.getProjectId() != projectId || !sameColumns(changes.getColumns())) {
+                return -1;
+            }
+            int applied = 0;
+            for (Integer taskId : changes.getDeletedTaskIds()) {
+                if (byId.containsKey(taskId)) {
+                    unindex(taskId);
+                    applied++;
+                }
+            }
+            TaskWriteBehind writeBehind = TaskWriteBehind.getInstance();
+            for (Task task : changes.getChangedTasks()) {
+                if (writeBehind.isPending(task.getId())) {
+                    continue;
+                }
+                Task current = byId.get(task.getId());
+                boolean visible = !task.isArchived() && columns.containsKey(task.getColumnId());
+                if (current == null ? !visible : visible && sameCard(current, task)) {
+                    continue;
+                }
+                unindex(task.getId());
+                if (visible) {
+                    index(task);
+                }
+                applied++;
+            }
+            return applied;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public Board toBoard() {
+        lock.readLock().lock();
+        try {
+            List<Column> ordered = new ArrayList<>(columns.values());
+            ordered.sort(Comparator.comparingInt(Column::getPosition));
+            Map<Integer, List<Task>> tasksByColumn = new HashMap<>();
+            for (Column column : ordered) {
+                tasksByColumn.put(column.getId(), new ArrayList<>(byColumn.getOrDefault(column.getId(), List.of())));
+            }
+            return new Board(projectId, ordered, tasksByColumn);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return byId.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    void taskSaved(Task task) {
+        tasksSaved(List.of(task));
+    }
+
+    void tasksSaved(Collection<Task> tasks) {
+        if (DatabaseConnection.isInTransaction()) {
+            invalidate();
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (stale) return;
+            for (Task task : tasks) {
+                unindex(task.getId());
+                if (!task.isArchived() && columns.containsKey(task.getColumnId())) {
+                    index(task);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void taskRemoved(int taskId) {
+        if (DatabaseConnection.isInTransaction()) {
+            invalidate();
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            unindex(taskId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void columnSaved(Column column) {
+        columnsSaved(List.of(column));
+    }
+
+    void columnsSaved(Collection<Column> saved) {
+        if (DatabaseConnection.isInTransaction()) {
+            invalidate();
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (stale) return;
+            for (Column column : saved) {
+                if (column.isArchived()) {
+                    removeColumn(column.getId());
+                } else if (column.getProjectId() == projectId) {
+                    columns.put(column.getId(), column);
+                    byColumn.computeIfAbsent(column.getId(), id -> new ArrayList<>());
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void columnRemoved(int columnId) {
+        if (DatabaseConnection.isInTransaction()) {
+            invalidate();
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            removeColumn(columnId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void columnTasksRemoved(int columnId) {
+        if (DatabaseConnection.isInTransaction()) {
+            invalidate();
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            List<Task> tasks = byColumn.get(columnId);
+            if (tasks != null) {
+                for (Task task : new ArrayList<>(tasks)) {
+                    unindex(task.getId());
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void invalidate() {
+        lock.writeLock().lock();
+        try {
+            stale = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private boolean sameColumns(List<Column> latest) {
+        if (latest.size() != columns.size()) {
+            return false;
+        }
+        for (Column column : latest) {
+            Column current = columns.get(column.getId());
+            if (current == null || current.getPosition() != column.getPosition()
+                    || !Objects.equals(current.getTitle(), column.getTitle())
+                    || !Objects.equals(current.getColor(), column.getColor())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean sameCard(Task current, Task latest) {
+        return current.getColumnId() == latest.getColumnId()
+                && current.getPosition() == latest.getPosition()
+                && current.isCompleted() == latest.isCompleted()
+                && current.getPriority() == latest.getPriority()
+                && current.getAttachmentCount() == latest.getAttachmentCount()
+                && Objects.equals(current.getTitle(), latest.getTitle())
+                && Objects.equals(current.getDueDate(), latest.getDueDate())
+                && Objects.equals(descriptionPrefix(current), descriptionPrefix(latest));
+    }
+
+    private static String descriptionPrefix(Task task) {
+        String description = task.getDescription();
+        if (description == null || description.length() <= TaskRowMapper.SUMMARY_DESCRIPTION_LENGTH) {
+            return description;
+        }
+        return description.substring(0, TaskRowMapper.SUMMARY_DESCRIPTION_LENGTH);
+    }
+
+    private void removeColumn(int columnId) {
+        List<Task> tasks = byColumn.remove(columnId);
+        if (tasks != null) {
+            for (Task task : tasks) {
+                indexedColumn.remove(task.getId());
+                byId.remove(task.getId());
+                removeDueDate(task);
+            }
+        }
+        columns.remove(columnId);
+    }
+
+    private void index(Task task) {
+        List<Task> columnTasks = register(task);
+        int at = Collections.binarySearch(columnTasks, task, BY_POSITION);
+        columnTasks.add(at < 0 ? -at - 1 : at, task);
+    }
+
+    private List<Task> register(Task task) {
+        byId.put(task.getId(), task);
+        indexedColumn.put(task.getId(), task.getColumnId());
+        if (task.getDueDate() != null) {
+            byDueDate.computeIfAbsent(task.getDueDate(), date -> new ArrayList<>()).add(task);
+            indexedDueDate.put(task.getId(), task.getDueDate());
+        }
+        return byColumn.computeIfAbsent(task.getColumnId(), id -> new ArrayList<>());
+    }
+
+    private void unindex(int taskId) {
+        Task task = byId.remove(taskId);
+        if (task == null) return;
+        Integer columnId = indexedColumn.remove(taskId);
+        List<Task> columnTasks = columnId != null ? byColumn.get(columnId) : null;
+        if (columnTasks != null) {
+            columnTasks.remove(task);
+        }
+        removeDueDate(task);
+    }
+
+    private void removeDueDate(Task task) {
+        LocalDate dueDate = indexedDueDate.remove(task.getId());
+        if (dueDate == null) return;
+        List<Task> due = byDueDate.get(dueDate);
+        if (due != null) {
+            due.remove(task);
+            if (due.isEmpty()) {
+                byDueDate.remove(dueDate);
+            }
+        }
+    }
+
+    private void clearIndexes() {
+        columns.clear();
+        byId.clear();
+        byColumn.clear();
+        byDueDate.clear();
+        indexedColumn.clear();
+        indexedDueDate.clear();
+    }
+}
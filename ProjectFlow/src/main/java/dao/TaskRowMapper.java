@@ -0,0 +1,84 @@
+package dao;
+
+import models.Task;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+
+class TaskRowMapper {
+    static final int SUMMARY_DESCRIPTION_LENGTH = 101;
+    static final String SUMMARY_COLUMNS = "t.id, t.column_id, t.title, " +
+            "LEFT(t.description, " + SUMMARY_DESCRIPTION_LENGTH + ") AS description, t.position, t.priority, " +
+            "t.due_date, t.is_completed, t.is_archived, t.completed_at, t.created_at, t.updated_at, t.attachment_count";
+
+    private final boolean summary;
+    private final int id;
+    private final int columnId;
+    private final int title;
+    private final int description;
+    private final int position;
+    private final int priority;
+    private final int dueDate;
+    private final int completed;
+    private final int archived;
+    private final int completedAt;
+    private final int createdAt;
+    private final int updatedAt;
+    private final int attachmentCount;
+
+    TaskRowMapper(ResultSet rs, boolean summary) throws SQLException {
+        this.summary = summary;
+        this.id = rs.findColumn("id");
+        this.columnId = rs.findColumn("column_id");
+        this.title = rs.findColumn("title");
+        this.description = rs.findColumn("description");
+        this.position = rs.findColumn("position");
+        this.priority = rs.findColumn("priority");
+        this.dueDate = rs.findColumn("due_date");
+        this.completed = rs.findColumn("is_completed");
+        this.archived = rs.findColumn("is_archived");
+        this.completedAt = rs.findColumn("completed_at");
+        this.createdAt = rs.findColumn("created_at");
+        this.updatedAt = rs.findColumn("updated_at");
+        this.attachmentCount = rs.findColumn("attachment_count");
+    }
+
+    Task map(ResultSet rs) throws SQLException {
+        Task task = new Task();
+        task.setId(rs.getInt(id));
+        task.setColumnId(rs.getInt(columnId));
+        task.setTitle(rs.getString(title));
+        task.setDescription(rs.getString(description));
+        task.setPosition(rs.getInt(position));
+        String priorityStr = rs.getString(priority);
+        if (priorityStr != null) {
+            try {
+                task.setPriority(Task.Priority.valueOf(priorityStr.toUpperCase()));
+            } catch (IllegalArgumentException e) {
+                task.setPriority(Task.Priority.MEDIUM);
+            }
+        }
+        Date due = rs.getDate(dueDate);
+        if (due != null) {
+            task.setDueDate(due.toLocalDate());
+        }
+        task.setCompleted(rs.getBoolean(completed));
+        task.setArchived(rs.getBoolean(archived));
+        Timestamp completedTs = rs.getTimestamp(completedAt);
+        if (completedTs != null) {
+            task.setCompletedAt(completedTs.toLocalDateTime());
+        }
+        Timestamp createdTs = rs.getTimestamp(createdAt);
+        if (createdTs != null) {
+            task.setCreatedAt(createdTs.toLocalDateTime());
+        }
+        Timestamp updatedTs = rs.getTimestamp(updatedAt);
+        if (updatedTs != null) {
+            task.setUpdatedAt(updatedTs.toLocalDateTime());
+        }
+        task.setAttachmentCount(rs.getInt(attachmentCount));
+        task.setSummary(summary);
+        return task;
+    }
+}
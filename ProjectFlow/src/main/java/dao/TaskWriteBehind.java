@@ -0,0 +1,368 @@
+package dao;
+
+import models.Task;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+public class TaskWriteBehind {
+    private static final int MAX_PENDING = Integer.getInteger("projectflow.writeBehind.maxPending", 256);
+    private static final long FLUSH_DELAY_MS = Long.getLong("projectflow.writeBehind.delayMs", 500);
+    private static final long BACKPRESSURE_TIMEOUT_MS = 100;
+    private static final long FLUSH_TIMEOUT_MS = 10000;
+    private static final long RETRY_DELAY_MS = 2000;
+    private static final int MAX_ATTEMPTS = 3;
+    private static final TaskWriteBehind INSTANCE = new TaskWriteBehind();
+
+    private final TaskDAO taskDAO = new TaskDAO();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private final Condition notFull = lock.newCondition();
+    private final Condition flushed = lock.newCondition();
+    private final LinkedHashMap<Integer, Task> pending = new LinkedHashMap<>();
+    private final Set<Integer> inFlight = new HashSet<>();
+    private final Map<Integer, Integer> attempts = new HashMap<>();
+    private Thread worker;
+    private boolean stopped = false;
+    private boolean flushRequested = false;
+    private long firstPendingAt;
+
+    private final AtomicLong submittedCount = new AtomicLong();
+    private final AtomicLong coalescedCount = new AtomicLong();
+    private final AtomicLong writtenCount = new AtomicLong();
+    private final AtomicLong batchCount = new AtomicLong();
+    private final AtomicLong failureCount = new AtomicLong();
+    private final AtomicLong droppedCount = new AtomicLong();
+    private final AtomicLong blockedCount = new AtomicLong();
+
+    public static TaskWriteBehind getInstance() {
+        return INSTANCE;
+    }
+
+    public boolean submit(Task task) {
+        if (task.getId() <= 0) {
+            return taskDAO.update(task);
+        }
+        TaskRepository.getInstance().taskSaved(task);
+        Task snapshot = snapshot(task);
+        lock.lock();
+        try {
+            if (!stopped) {
+                submittedCount.incrementAndGet();
+                if (enqueue(snapshot)) {
+                    return true;
+                }
+            }
+            inFlight.add(snapshot.getId());
+        } finally {
+            lock.unlock();
+        }
+        System.err.println("[TaskWriteBehind] Очередь записи переполнена, отдельная запись задачи ID=" + task.getId());
+        AsyncDAO.supply(() -> taskDAO.writeAll(List.of(snapshot)))
+                .whenComplete((written, error) -> fallbackWritten(snapshot, Boolean.TRUE.equals(written)));
+        return true;
+    }
+
+    private void fallbackWritten(Task snapshot, boolean written) {
+        List<Task> batch = List.of(snapshot);
+        List<Task> dropped = new ArrayList<>();
+        lock.lock();
+        try {
+            if (finish(batch, written ? List.of() : batch, written, dropped)) {
+                ensureWorker();
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (!dropped.isEmpty()) {
+            drop(dropped);
+        }
+    }
+
+    private boolean enqueue(Task snapshot) {
+        int id = snapshot.getId();
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(BACKPRESSURE_TIMEOUT_MS);
+        boolean waited = false;
+        while (pending.size() >= MAX_PENDING && !pending.containsKey(id)) {
+            if (!waited) {
+                waited = true;
+                blockedCount.incrementAndGet();
+            }
+            flushRequested = true;
+            notEmpty.signal();
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                break;
+            }
+            try {
+                notFull.awaitNanos(remaining);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        if (pending.size() >= MAX_PENDING && !pending.containsKey(id) && !inFlight.contains(id)) {
+            return false;
+        }
+        if (pending.isEmpty()) {
+            firstPendingAt = System.nanoTime();
+        }
+        if (pending.remove(id) != null) {
+            coalescedCount.incrementAndGet();
+        }
+        attempts.remove(id);
+        pending.put(id, snapshot);
+        ensureWorker();
+        notEmpty.signal();
+        return true;
+    }
+
+    public boolean isPending(int taskId) {
+        lock.lock();
+        try {
+            return pending.containsKey(taskId) || inFlight.contains(taskId);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public boolean flush() {
+        lock.lock();
+        try {
+            if (pending.isEmpty() && inFlight.isEmpty()) {
+                return true;
+            }
+            ensureWorker();
+            flushRequested = true;
+            notEmpty.signal();
+            long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(FLUSH_TIMEOUT_MS);
+            while (!pending.isEmpty() || !inFlight.isEmpty()) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    System.err.println("[TaskWriteBehind] Не удалось записать " + (pending.size() + inFlight.size()) +
+                            " задач за " + FLUSH_TIMEOUT_MS + " мс");
+                    return false;
+                }
+                try {
+                    flushed.awaitNanos(remaining);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
+            }
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void shutdown() {
+        boolean complete = flush();
+        Thread current;
+        lock.lock();
+        try {
+            stopped = true;
+            current = worker;
+            worker = null;
+            notEmpty.signalAll();
+            if (!complete) {
+                System.err.println("[TaskWriteBehind] Потеряно незаписанных изменений задач: " + pending.size());
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (current != null) {
+            try {
+                current.join(1000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        System.out.println("[TaskWriteBehind] Остановлен. " + getStats());
+    }
+
+    private void ensureWorker() {
+        if (worker == null && !stopped) {
+            worker = new Thread(this::runWorker, "task-write-behind");
+            worker.setDaemon(true);
+            worker.start();
+        }
+    }
+
+    private void runWorker() {
+        while (true) {
+            List<Task> batch;
+            lock.lock();
+            try {
+                while (!hasWritable()) {
+                    if (stopped && pending.isEmpty()) {
+                        return;
+                    }
+                    notEmpty.await();
+                }
+                long deadline = firstPendingAt + TimeUnit.MILLISECONDS.toNanos(FLUSH_DELAY_MS);
+                while (!flushRequested && !stopped && pending.size() < MAX_PENDING) {
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) {
+                        break;
+                    }
+                    notEmpty.awaitNanos(remaining);
+                }
+                batch = new ArrayList<>();
+                Iterator<Task> it = pending.values().iterator();
+                while (it.hasNext()) {
+                    Task task = it.next();
+                    if (inFlight.add(task.getId())) {
+                        batch.add(task);
+                        it.remove();
+                    }
+                }
+                flushRequested = false;
+                notFull.signalAll();
+            } catch (InterruptedException e) {
+                return;
+            } finally {
+                lock.unlock();
+            }
+
+            boolean written = taskDAO.writeAll(batch);
+            List<Task> failed = written ? List.of() : batch.size() > 1 ? writeEach(batch) : batch;
+            List<Task> dropped = new ArrayList<>();
+            boolean retry;
+            lock.lock();
+            try {
+                retry = finish(batch, failed, written, dropped);
+            } finally {
+                lock.unlock();
+            }
+            if (!dropped.isEmpty()) {
+                drop(dropped);
+            }
+            if (retry) {
+                System.err.println("[TaskWriteBehind] Не записано " + failed.size() + " из " + batch.size() +
+                        " задач, повтор через " + RETRY_DELAY_MS + " мс");
+                try {
+                    Thread.sleep(RETRY_DELAY_MS);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private boolean hasWritable() {
+        for (Integer id : pending.keySet()) {
+            if (!inFlight.contains(id)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean finish(List<Task> batch, List<Task> failed, boolean written, List<Task> dropped) {
+        boolean retry = false;
+        if (written) {
+            batchCount.incrementAndGet();
+        } else {
+            failureCount.incrementAndGet();
+        }
+        writtenCount.addAndGet(batch.size() - failed.size());
+        Set<Integer> failedIds = new HashSet<>();
+        for (Task task : failed) {
+            failedIds.add(task.getId());
+        }
+        for (Task task : batch) {
+            if (!failedIds.contains(task.getId())) {
+                attempts.remove(task.getId());
+            } else if (!pending.containsKey(task.getId())) {
+                if (attempts.merge(task.getId(), 1, Integer::sum) >= MAX_ATTEMPTS) {
+                    attempts.remove(task.getId());
+                    dropped.add(task);
+                    continue;
+                }
+                pending.put(task.getId(), task);
+                retry = true;
+            }
+            inFlight.remove(task.getId());
+        }
+        if (retry) {
+            firstPendingAt = System.nanoTime();
+        }
+        notEmpty.signal();
+        flushed.signalAll();
+        return retry;
+    }
+
+    private List<Task> writeEach(List<Task> batch) {
+        List<Task> failed = new ArrayList<>();
+        boolean anyWritten = false;
+        for (Task task : batch) {
+            if (!anyWritten && failed.size() >= MAX_ATTEMPTS) {
+                failed.add(task);
+            } else if (taskDAO.writeAll(List.of(task))) {
+                anyWritten = true;
+            } else {
+                failed.add(task);
+            }
+        }
+        return failed;
+    }
+
+    private void drop(List<Task> tasks) {
+        droppedCount.addAndGet(tasks.size());
+        for (Task task : tasks) {
+            System.err.println("[TaskWriteBehind] Изменения задачи ID=" + task.getId() +
+                    " не удалось записать и они отброшены");
+        }
+        TaskRepository.getInstance().invalidate();
+        lock.lock();
+        try {
+            for (Task task : tasks) {
+                inFlight.remove(task.getId());
+            }
+            notEmpty.signal();
+            flushed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static Task snapshot(Task task) {
+        Task copy = new Task(task.getColumnId(), task.getTitle(), task.getDescription());
+        copy.setId(task.getId());
+        copy.setPosition(task.getPosition());
+        copy.setPriority(task.getPriority());
+        copy.setDueDate(task.getDueDate());
+        copy.setCompleted(task.isCompleted());
+        copy.setArchived(task.isArchived());
+        copy.setCompletedAt(task.getCompletedAt());
+        copy.setCreatedAt(task.getCreatedAt());
+        copy.setUpdatedAt(task.getUpdatedAt());
+        copy.setSummary(task.isSummary());
+        return copy;
+    }
+
+    public String getStats() {
+        int queued;
+        lock.lock();
+        try {
+            queued = pending.size() + inFlight.size();
+        } finally {
+            lock.unlock();
+        }
+        return "в очереди=" + queued + "/" + MAX_PENDING + ", принято=" + submittedCount.get() +
+                ", объединено=" + coalescedCount.get() + ", записано=" + writtenCount.get() +
+                ", пакетов=" + batchCount.get() + ", ошибок=" + failureCount.get() +
+                ", отброшено=" + droppedCount.get() +
+                ", ожиданий=" + blockedCount.get();
+    }
+}
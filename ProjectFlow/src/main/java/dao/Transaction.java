@@ -0,0 +1,127 @@
+package dao;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+class Transaction {
+    private final Connection connection;
+    private final Connection participant;
+    private boolean rollbackOnly = false;
+    private SQLException failure;
+
+    Transaction(Connection connection) {
+        this.connection = connection;
+        this.participant = (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                new ParticipantHandler());
+    }
+
+    Connection getConnection() {
+        return participant;
+    }
+
+    void setRollbackOnly() {
+        rollbackOnly = true;
+    }
+
+    boolean isRollbackOnly() {
+        return rollbackOnly;
+    }
+
+    SQLException getFailure() {
+        return failure;
+    }
+
+    void commit() throws SQLException {
+        connection.commit();
+    }
+
+    void rollback() {
+        try {
+            connection.rollback();
+        } catch (SQLException e) {
+            System.err.println("[DatabaseConnection] Ошибка при откате транзакции: " + e.getMessage());
+        }
+    }
+
+    void close() {
+        try {
+            connection.setAutoCommit(true);
+        } catch (SQLException e) {
+            System.err.println("[DatabaseConnection] Не удалось восстановить autocommit: " + e.getMessage());
+        }
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            System.err.println("[DatabaseConnection] Ошибка при возврате соединения: " + e.getMessage());
+        }
+    }
+
+    private void recordFailure(SQLException e) {
+        rollbackOnly = true;
+        if (failure == null) {
+            failure = e;
+        }
+    }
+
+    private class ParticipantHandler implements InvocationHandler {
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                case "commit":
+                    return null;
+                case "setAutoCommit":
+                    return null;
+                case "getAutoCommit":
+                    return false;
+                case "rollback":
+                    if (args == null) {
+                        rollbackOnly = true;
+                        return null;
+                    }
+                    break;
+                case "isClosed":
+                    return connection.isClosed();
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                default:
+                    break;
+            }
+            Object result;
+            try {
+                result = method.invoke(connection, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+            if (result instanceof Statement) {
+                return trackFailures((Statement) result, method.getReturnType());
+            }
+            return result;
+        }
+    }
+
+    private Object trackFailures(Statement stmt, Class<?> type) {
+        return Proxy.newProxyInstance(
+                type.getClassLoader(),
+                new Class<?>[]{type},
+                (proxy, method, args) -> {
+                    try {
+                        return method.invoke(stmt, args);
+                    } catch (InvocationTargetException e) {
+                        if (e.getCause() instanceof SQLException && method.getName().startsWith("execute")) {
+                            recordFailure((SQLException) e.getCause());
+                        }
+                        throw e.getCause();
+                    }
+                });
+    }
+}
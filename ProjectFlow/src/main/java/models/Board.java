@@ -0,0 +1,45 @@
+package models;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class Board {
+    private final int projectId;
+    private final List<Column> columns;
+    private final Map<Integer, List<Task>> tasksByColumn;
+    private LocalDateTime syncedAt;
+
+    public Board(int projectId, List<Column> columns, Map<Integer, List<Task>> tasksByColumn) {
+        this.projectId = projectId;
+        this.columns = columns;
+        this.tasksByColumn = tasksByColumn;
+    }
+
+    public static Board empty(int projectId) {
+        return new Board(projectId, new ArrayList<>(), new HashMap<>());
+    }
+
+    public int getProjectId() { return projectId; }
+
+    public List<Column> getColumns() { return columns; }
+
+    public List<Task> getTasks(int columnId) {
+        return tasksByColumn.getOrDefault(columnId, Collections.emptyList());
+    }
+
+    public LocalDateTime getSyncedAt() { return syncedAt; }
+
+    public void setSyncedAt(LocalDateTime syncedAt) { this.syncedAt = syncedAt; }
+
+    public int getTaskCount() {
+        int count = 0;
+        for (List<Task> tasks : tasksByColumn.values()) {
+            count += tasks.size();
+        }
+        return count;
+    }
+}
@@ -0,0 +1,161 @@
+package models;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+public final class LabelRegistry {
+    public static final String DEFAULT_COLOR = "#5e6c84";
+    private static final Map<String, String> BUILTIN_COLORS = new HashMap<>();
+    private static final LabelRegistry INSTANCE = new LabelRegistry();
+
+    static {
+        for (String name : new String[]{"БАГ", "BUG", "ОШИБКА", "СРОЧНО", "ПРОСРОЧЕНО", "БЛОКЕР", "КРИТИЧЕСКИЙ"}) {
+            BUILTIN_COLORS.put(name, "#eb5a46");
+        }
+        for (String name : new String[]{"ФИЧА", "FEATURE", "УЛУЧШЕНИЕ", "НИЗКИЙ"}) {
+            BUILTIN_COLORS.put(name, "#61bd4f");
+        }
+        for (String name : new String[]{"ДИЗАЙН", "DESIGN", "UI", "UX"}) {
+            BUILTIN_COLORS.put(name, "#00c2e0");
+        }
+        for (String name : new String[]{"ТЕСТ", "TEST", "QA", "СРЕДНИЙ"}) {
+            BUILTIN_COLORS.put(name, "#f2d600");
+        }
+        BUILTIN_COLORS.put("ДОКУМЕНТАЦИЯ", "#c377e0");
+        BUILTIN_COLORS.put("DOCS", "#c377e0");
+        BUILTIN_COLORS.put("ВЫСОКИЙ", "#ff9f1a");
+    }
+
+    private final ConcurrentHashMap<String, Integer> ids = new ConcurrentHashMap<>();
+    private volatile String[] names = new String[32];
+    private volatile String[] colors = new String[32];
+    private int count = 0;
+    private final Map<String, String> catalogColors = new HashMap<>();
+    private List<Label> catalog;
+
+    private LabelRegistry() {
+    }
+
+    public static LabelRegistry getInstance() {
+        return INSTANCE;
+    }
+
+    public static String normalize(String name) {
+        return name != null ? name.trim().toUpperCase() : null;
+    }
+
+    public int find(String name) {
+        if (name == null) return -1;
+        Integer id = ids.get(normalize(name));
+        return id != null ? id : -1;
+    }
+
+    public int intern(String name) {
+        String normalized = normalize(name);
+        if (normalized == null || normalized.isEmpty()) {
+            return -1;
+        }
+        Integer id = ids.get(normalized);
+        if (id != null) {
+            return id;
+        }
+        synchronized (this) {
+            id = ids.get(normalized);
+            if (id != null) {
+                return id;
+            }
+            if (count == names.length) {
+                colors = Arrays.copyOf(colors, count * 2);
+                names = Arrays.copyOf(names, count * 2);
+            }
+            colors[count] = resolveColor(normalized);
+            names[count] = normalized;
+            id = count++;
+            ids.put(normalized, id);
+            return id;
+        }
+    }
+
+    public String getName(int id) {
+        String[] current = names;
+        return id >= 0 && id < current.length ? current[id] : null;
+    }
+
+    public String getColor(int id) {
+        String[] current = colors;
+        String color = id >= 0 && id < current.length ? current[id] : null;
+        return color != null ? color : DEFAULT_COLOR;
+    }
+
+    public String getColor(String name) {
+        int id = find(name);
+        if (id >= 0) {
+            return getColor(id);
+        }
+        String normalized = normalize(name);
+        return normalized == null || normalized.isEmpty() ? DEFAULT_COLOR : defaultColor(normalized);
+    }
+
+    public int size() {
+        return ids.size();
+    }
+
+    public synchronized List<Label> getCatalog() {
+        return catalog != null ? new ArrayList<>(catalog) : null;
+    }
+
+    public synchronized void setCatalog(List<Label> labels) {
+        catalog = new ArrayList<>(labels);
+        catalogColors.clear();
+        for (Label label : labels) {
+            rememberColor(label);
+        }
+        recolor();
+    }
+
+    public synchronized void labelCreated(Label label) {
+        catalog = null;
+        rememberColor(label);
+        recolor();
+    }
+
+    private void rememberColor(Label label) {
+        String name = normalize(label.getName());
+        String color = label.getColor();
+        if (name == null || name.isEmpty() || color == null || color.trim().isEmpty()) {
+            return;
+        }
+        color = color.trim();
+        catalogColors.put(name, color.startsWith("#") ? color : "#" + color);
+        intern(name);
+    }
+
+    private void recolor() {
+        String[] updated = new String[names.length];
+        for (int i = 0; i < count; i++) {
+            updated[i] = resolveColor(names[i]);
+        }
+        colors = updated;
+    }
+
+    private String resolveColor(String normalized) {
+        String color = catalogColors.get(normalized);
+        return color != null ? color : defaultColor(normalized);
+    }
+
+    private static String defaultColor(String normalized) {
+        String color = BUILTIN_COLORS.get(normalized);
+        if (color != null) {
+            return color;
+        }
+        int hash = normalized.hashCode();
+        int r = Math.abs(hash % 200 + 55);
+        int g = Math.abs((hash / 256) % 200 + 55);
+        int b = Math.abs((hash / 65536) % 200 + 55);
+        return String.format("#%02X%02X%02X", r, g, b);
+    }
+}
@@ -3,9 +3,12 @@ package models;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 public class Task {
+    private static final int[] NO_LABELS = new int[0];
+
     private int id;
     private int columnId;
     private String title;
@@ -18,8 +21,10 @@ public class Task {
     private LocalDateTime completedAt;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
-    private List<String> labels = new ArrayList<>();
+    private int[] labelIds = NO_LABELS;
     private String assignedMember;
+    private int attachmentCount;
+    private boolean summary;
 
     public enum Priority {
         LOW, MEDIUM, HIGH, CRITICAL
@@ -30,7 +35,7 @@ public class Task {
         this.priority = Priority.MEDIUM;
         this.position = 0;
         this.isCompleted = false;
-        this.labels = new ArrayList<>();
+        this.labelIds = NO_LABELS;
     }
 
     public Task(int columnId, String title, String description) {
@@ -41,7 +46,7 @@ public class Task {
         this.position = 0;
         this.isCompleted = false;
         this.isArchived = false;
-        this.labels = new ArrayList<>();
+        this.labelIds = NO_LABELS;
     }
 
     public int getId() {
@@ -141,36 +146,73 @@ public class Task {
     }
 
     public List<String> getLabels() {
-        return labels;
+        LabelRegistry registry = LabelRegistry.getInstance();
+        List<String> names = new ArrayList<>(labelIds.length);
+        for (int labelId : labelIds) {
+            names.add(registry.getName(labelId));
+        }
+        return names;
     }
 
     public void setLabels(List<String> labels) {
-        this.labels = labels;
+        this.labelIds = NO_LABELS;
+        if (labels != null) {
+            for (String label : labels) {
+                addLabel(label);
+            }
+        }
+    }
+
+    public int[] getLabelIds() {
+        return labelIds.clone();
+    }
+
+    public void setLabelIds(int[] labelIds) {
+        this.labelIds = labelIds != null ? labelIds.clone() : NO_LABELS;
     }
 
     public void addLabel(String label) {
-        if (label != null && !label.trim().isEmpty()) {
-            String normalizedLabel = label.trim().toUpperCase();
-            if (!labels.contains(normalizedLabel)) {
-                labels.add(normalizedLabel);
-            }
+        int labelId = LabelRegistry.getInstance().intern(label);
+        if (labelId >= 0 && !hasLabelId(labelId)) {
+            labelIds = Arrays.copyOf(labelIds, labelIds.length + 1);
+            labelIds[labelIds.length - 1] = labelId;
         }
     }
 
     public void removeLabel(String label) {
-        labels.remove(label.trim().toUpperCase());
+        int labelId = LabelRegistry.getInstance().find(label);
+        for (int i = 0; i < labelIds.length; i++) {
+            if (labelIds[i] == labelId) {
+                int[] remaining = new int[labelIds.length - 1];
+                System.arraycopy(labelIds, 0, remaining, 0, i);
+                System.arraycopy(labelIds, i + 1, remaining, i, remaining.length - i);
+                labelIds = remaining;
+                return;
+            }
+        }
     }
 
     public boolean hasLabel(String label) {
-        return labels.contains(label.trim().toUpperCase());
+        return hasLabelId(LabelRegistry.getInstance().find(label));
+    }
+
+    public boolean hasLabelId(int labelId) {
+        if (labelId < 0) return false;
+        for (int id : labelIds) {
+            if (id == labelId) {
+                return true;
+            }
+        }
+        return false;
     }
 
     public boolean hasAnyLabel(List<String> searchLabels) {
         if (searchLabels == null || searchLabels.isEmpty()) {
             return false;
         }
+        LabelRegistry registry = LabelRegistry.getInstance();
         for (String searchLabel : searchLabels) {
-            if (labels.contains(searchLabel.trim().toUpperCase())) {
+            if (hasLabelId(registry.find(searchLabel))) {
                 return true;
             }
         }
@@ -178,10 +220,18 @@ public class Task {
     }
 
     public String getLabelsAsString() {
-        if (labels.isEmpty()) {
+        if (labelIds.length == 0) {
             return "";
         }
-        return String.join(", ", labels);
+        return String.join(", ", getLabels());
+    }
+
+    public int getAttachmentCount() {
+        return attachmentCount;
+    }
+
+    public void setAttachmentCount(int attachmentCount) {
+        this.attachmentCount = attachmentCount;
     }
 
     public String getAssignedMember() {
@@ -192,6 +242,19 @@ public class Task {
         this.assignedMember = assignedMember;
     }
 
+    public boolean isSummary() {
+        return summary;
+    }
+
+    public void setSummary(boolean summary) {
+        this.summary = summary;
+    }
+
+    public void applyDetails(Task details) {
+        this.description = details.description;
+        this.summary = false;
+    }
+
     public boolean isAssigned() {
         return assignedMember != null && !assignedMember.trim().isEmpty();
     }
@@ -260,61 +323,21 @@ public class Task {
     }
 
     public String getLabelColor(String label) {
-        if (label == null) return "#5e6c84";
-        String normalizedLabel = label.trim().toUpperCase();
-        switch (normalizedLabel) {
-            case "БАГ":
-            case "BUG":
-            case "ОШИБКА":
-            case "СРОЧНО":
-            case "ПРОСРОЧЕНО":
-            case "БЛОКЕР":
-                return "#eb5a46";
-            case "ФИЧА":
-            case "FEATURE":
-            case "УЛУЧШЕНИЕ":
-            case "НИЗКИЙ":
-                return "#61bd4f";
-            case "ДИЗАЙН":
-            case "DESIGN":
-            case "UI":
-            case "UX":
-                return "#00c2e0";
-            case "ТЕСТ":
-            case "TEST":
-            case "QA":
-                return "#f2d600";
-            case "ДОКУМЕНТАЦИЯ":
-            case "DOCS":
-                return "#c377e0";
-            case "СРЕДНИЙ":
-                return "#f2d600";
-            case "ВЫСОКИЙ":
-                return "#ff9f1a";
-            case "КРИТИЧЕСКИЙ":
-                return "#eb5a46";
-            default:
-                int hash = normalizedLabel.hashCode();
-                int r = Math.abs(hash % 200 + 55);
-                int g = Math.abs((hash / 256) % 200 + 55);
-                int b = Math.abs((hash / 65536) % 200 + 55);
-                return String.format("#%02X%02X%02X", r, g, b);
-        }
+        return LabelRegistry.getInstance().getColor(label);
     }
 
     public String getPrimaryLabel() {
-        if (labels.isEmpty()) {
+        if (labelIds.length == 0) {
             return null;
         }
-        return labels.get(0);
+        return LabelRegistry.getInstance().getName(labelIds[0]);
     }
 
     public String getPrimaryLabelColor() {
-        String primaryLabel = getPrimaryLabel();
-        if (primaryLabel == null) {
-            return "#5e6c84";
+        if (labelIds.length == 0) {
+            return LabelRegistry.DEFAULT_COLOR;
         }
-        return getLabelColor(primaryLabel);
+        return LabelRegistry.getInstance().getColor(labelIds[0]);
     }
 
     public void autoDetectLabels() {
@@ -370,7 +393,7 @@ public class Task {
     public String toString() {
         StringBuilder sb = new StringBuilder();
         sb.append(title);
-        if (!labels.isEmpty()) {
+        if (labelIds.length > 0) {
             sb.append(" [").append(getLabelsAsString()).append("]");
         }
         if (isCompleted) {
@@ -383,7 +406,7 @@ public class Task {
         copy.setPriority(this.priority);
         copy.setDueDate(this.dueDate);
         copy.setPosition(this.position);
-        copy.setLabels(new ArrayList<>(this.labels));
+        copy.setLabelIds(this.labelIds);
         copy.setAssignedMember(this.assignedMember);
         return copy;
     }
@@ -397,7 +420,7 @@ public class Task {
         String lowerSearch = searchText.toLowerCase();
         return (title != null && title.toLowerCase().contains(lowerSearch)) ||
                 (description != null && description.toLowerCase().contains(lowerSearch)) ||
-                labels.stream().anyMatch(label -> label.toLowerCase().contains(lowerSearch)) ||
+                getLabels().stream().anyMatch(label -> label.toLowerCase().contains(lowerSearch)) ||
                 (assignedMember != null && assignedMember.toLowerCase().contains(lowerSearch));
     }
 }
\ No newline at end of file
@@ -0,0 +1,31 @@
+package models;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public class TaskChanges {
+    private final int projectId;
+    private final List<Column> columns;
+    private final List<Task> changedTasks;
+    private final List<Integer> deletedTaskIds;
+    private final LocalDateTime watermark;
+
+    public TaskChanges(int projectId, List<Column> columns, List<Task> changedTasks,
+                       List<Integer> deletedTaskIds, LocalDateTime watermark) {
+        this.projectId = projectId;
+        this.columns = columns;
+        this.changedTasks = changedTasks;
+        this.deletedTaskIds = deletedTaskIds;
+        this.watermark = watermark;
+    }
+
+    public int getProjectId() { return projectId; }
+
+    public List<Column> getColumns() { return columns; }
+
+    public List<Task> getChangedTasks() { return changedTasks; }
+
+    public List<Integer> getDeletedTaskIds() { return deletedTaskIds; }
+
+    public LocalDateTime getWatermark() { return watermark; }
+}
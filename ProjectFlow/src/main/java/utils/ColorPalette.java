@@ -0,0 +1,162 @@
+package utils;
+
+import javafx.geometry.Insets;
+import javafx.scene.layout.Background;
+import javafx.scene.layout.BackgroundFill;
+import javafx.scene.layout.Border;
+import javafx.scene.layout.BorderStroke;
+import javafx.scene.layout.BorderStrokeStyle;
+import javafx.scene.layout.BorderWidths;
+import javafx.scene.layout.CornerRadii;
+import javafx.scene.paint.Color;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public class ColorPalette {
+    public static final Color FALLBACK = Color.web("#5e6c84");
+    private static final Color DEFAULT_COLUMN = Color.web("#f4f5f7");
+    private static final CornerRadii COLUMN_RADII = new CornerRadii(3);
+    private static final CornerRadii COUNT_RADII = new CornerRadii(12);
+    private static final int MAX_ENTRIES = 256;
+
+    private static final Map<String, Color> colors = lru();
+    private static final Map<String, Background> backgrounds = lru();
+    private static final Map<String, ColumnColors> columns = lru();
+
+    public static final ColumnColors DEFAULT_COLUMN_COLORS = new ColumnColors(
+            fill(DEFAULT_COLUMN, COLUMN_RADII), null, fill(Color.rgb(0, 0, 0, 0.1), COUNT_RADII),
+            Background.EMPTY, fill(Color.rgb(0, 0, 0, 0.06), COLUMN_RADII), null, null);
+
+    public static Color color(String hex) {
+        if (hex == null || hex.isEmpty()) {
+            return FALLBACK;
+        }
+        Color color = colors.get(hex);
+        if (color == null) {
+            color = parse(hex);
+            colors.put(hex, color);
+        }
+        return color;
+    }
+
+    public static Background background(String hex, double radius) {
+        String key = hex + "/" + radius;
+        Background background = backgrounds.get(key);
+        if (background == null) {
+            background = fill(color(hex), new CornerRadii(radius));
+            backgrounds.put(key, background);
+        }
+        return background;
+    }
+
+    public static ColumnColors column(String hex) {
+        if (hex == null || hex.isEmpty()) {
+            return DEFAULT_COLUMN_COLORS;
+        }
+        ColumnColors entry = columns.get(hex);
+        if (entry == null) {
+            entry = createColumnColors(hex);
+            columns.put(hex, entry);
+        }
+        return entry;
+    }
+
+    private static <V> Map<String, V> lru() {
+        return Collections.synchronizedMap(new LinkedHashMap<String, V>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, V> eldest) {
+                return size() > MAX_ENTRIES;
+            }
+        });
+    }
+
+    private static ColumnColors createColumnColors(String hex) {
+        Color base;
+        try {
+            base = Color.web(hex);
+        } catch (IllegalArgumentException e) {
+            System.err.println("[ColorPalette] Некорректный цвет колонки: " + hex);
+            return DEFAULT_COLUMN_COLORS;
+        }
+        Color light = Color.rgb(lighten(base.getRed()), lighten(base.getGreen()), lighten(base.getBlue()));
+        Color strong = withAlpha(base, 0x40);
+        Color soft = withAlpha(base, 0x20);
+        double yiq = (channel(base.getRed()) * 299 + channel(base.getGreen()) * 587 + channel(base.getBlue()) * 114) / 1000.0;
+        return new ColumnColors(
+                fill(light, COLUMN_RADII),
+                stroke(strong, COLUMN_RADII),
+                fill(strong, COUNT_RADII),
+                fill(soft, CornerRadii.EMPTY),
+                fill(strong, CornerRadii.EMPTY),
+                stroke(strong, CornerRadii.EMPTY),
+                yiq < 150);
+    }
+
+    private static Color parse(String hex) {
+        try {
+            return Color.web(hex);
+        } catch (IllegalArgumentException e) {
+            System.err.println("[ColorPalette] Некорректный цвет: " + hex);
+            return FALLBACK;
+        }
+    }
+
+    private static int channel(double value) {
+        return (int) Math.round(value * 255);
+    }
+
+    private static int lighten(double value) {
+        return Math.min(255, channel(value) + 100);
+    }
+
+    private static Color withAlpha(Color color, int alpha) {
+        return Color.color(color.getRed(), color.getGreen(), color.getBlue(), alpha / 255.0);
+    }
+
+    private static Background fill(Color color, CornerRadii radii) {
+        return new Background(new BackgroundFill(color, radii, Insets.EMPTY));
+    }
+
+    private static Border stroke(Color color, CornerRadii radii) {
+        return new Border(new BorderStroke(color, BorderStrokeStyle.SOLID, radii, BorderWidths.DEFAULT));
+    }
+
+    public static class ColumnColors {
+        private final Background background;
+        private final Border border;
+        private final Background countBackground;
+        private final Background buttonBackground;
+        private final Background buttonHoverBackground;
+        private final Border buttonBorder;
+        private final Boolean lightText;
+
+        private ColumnColors(Background background, Border border, Background countBackground,
+                             Background buttonBackground, Background buttonHoverBackground,
+                             Border buttonBorder, Boolean lightText) {
+            this.background = background;
+            this.border = border;
+            this.countBackground = countBackground;
+            this.buttonBackground = buttonBackground;
+            this.buttonHoverBackground = buttonHoverBackground;
+            this.buttonBorder = buttonBorder;
+            this.lightText = lightText;
+        }
+
+        public Background getBackground() { return background; }
+
+        public Border getBorder() { return border; }
+
+        public Background getCountBackground() { return countBackground; }
+
+        public Background getButtonBackground() { return buttonBackground; }
+
+        public Background getButtonHoverBackground() { return buttonHoverBackground; }
+
+        public Border getButtonBorder() { return buttonBorder; }
+
+        public boolean isColored() { return lightText != null; }
+
+        public boolean isLightText() { return Boolean.TRUE.equals(lightText); }
+    }
+}
@@ -0,0 +1,34 @@
+package utils;
+
+import javafx.application.Platform;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Consumer;
+
+public class FxAsync {
+
+    public static <T> void onFxThread(CompletableFuture<T> future, Consumer<T> onSuccess, Consumer<Throwable> onError) {
+        future.whenComplete((result, error) -> Platform.runLater(() -> {
+            if (error == null) {
+                onSuccess.accept(result);
+            } else {
+                Throwable cause = unwrap(error);
+                System.err.println("[FxAsync] Ошибка фоновой операции: " + cause.getMessage());
+                if (onError != null) {
+                    onError.accept(cause);
+                }
+            }
+        }));
+    }
+
+    public static <T> void onFxThread(CompletableFuture<T> future, Consumer<T> onSuccess) {
+        onFxThread(future, onSuccess, null);
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        if (error instanceof CompletionException && error.getCause() != null) {
+            return error.getCause();
+        }
+        return error;
+    }
+}
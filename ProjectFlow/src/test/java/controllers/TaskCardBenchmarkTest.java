@@ -0,0 +1,158 @@
+package controllers;
+
+import models.Task;
+import javafx.application.Platform;
+import javafx.fxml.FXMLLoader;
+import javafx.scene.Node;
+import javafx.scene.Scene;
+import javafx.scene.control.ListView;
+import javafx.scene.layout.VBox;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class TaskCardBenchmarkTest {
+    private static final int CARDS = Integer.getInteger("projectflow.benchmark.cards", 500);
+    private static final int WARMUP_CARDS = 200;
+    private static final String STYLESHEET = TaskCardBenchmarkTest.class.getResource("/com/example/projectflow/board.css").toExternalForm();
+    private static boolean textLayout = true;
+
+    @BeforeAll
+    static void startPlatform() throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        try {
+            Platform.startup(started::countDown);
+        } catch (IllegalStateException e) {
+            started.countDown();
+        } catch (RuntimeException | UnsatisfiedLinkError e) {
+            assumeTrue(false, "JavaFX недоступен: " + e.getMessage());
+        }
+        assertTrue(started.await(10, TimeUnit.SECONDS), "JavaFX не запустился");
+    }
+
+    @AfterAll
+    static void stopPlatform() {
+        Platform.exit();
+    }
+
+    @Test
+    void cardViewAndListViewAgainstFxml() throws Exception {
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        Platform.runLater(() -> {
+            try {
+                List<Task> warmup = sampleTasks(WARMUP_CARDS);
+                measure(warmup, TaskCardBenchmarkTest::loadFxmlCard);
+                measure(warmup, TaskCardBenchmarkTest::buildCard);
+                List<Task> tasks = sampleTasks(CARDS);
+                double fxml = report("FXML", tasks.size(), measure(tasks, TaskCardBenchmarkTest::loadFxmlCard));
+                double view = report("TaskCardView", tasks.size(), measure(tasks, TaskCardBenchmarkTest::buildCard));
+                System.out.printf("[TaskCardBenchmark] Ускорение TaskCardView: %.1fx%n", view / fxml);
+                if (textLayout) {
+                    measureList(warmup);
+                    double list = report("ListView", tasks.size(), new long[]{0, measureList(tasks)});
+                    System.out.printf("[TaskCardBenchmark] Ускорение ListView: %.1fx%n", list / fxml);
+                } else {
+                    System.out.println("[TaskCardBenchmark] Раскладка текста недоступна (нет libpango), " +
+                            "замерены только создание карточек и CSS");
+                }
+                done.complete(null);
+            } catch (Throwable e) {
+                done.completeExceptionally(e);
+            }
+        });
+        done.get(2, TimeUnit.MINUTES);
+    }
+
+    private static long[] measure(List<Task> tasks, CardFactory factory) throws IOException {
+        VBox container = new VBox(8);
+        container.getStylesheets().add(STYLESHEET);
+        new Scene(container, 272, 800);
+        long start = System.nanoTime();
+        for (Task task : tasks) {
+            container.getChildren().add(factory.create(task));
+        }
+        container.applyCss();
+        long built = System.nanoTime() - start;
+        assertEquals(tasks.size(), container.getChildren().size());
+        if (!textLayout) {
+            return new long[]{built, 0};
+        }
+        try {
+            start = System.nanoTime();
+            container.layout();
+            return new long[]{built, System.nanoTime() - start};
+        } catch (LinkageError e) {
+            textLayout = false;
+            return new long[]{built, 0};
+        }
+    }
+
+    private static long measureList(List<Task> tasks) {
+        ListView<Task> list = new ListView<>();
+        list.getStyleClass().add("task-list");
+        list.getStylesheets().add(STYLESHEET);
+        list.setCellFactory(view -> new TaskCardCell(null));
+        new Scene(list, 272, 800);
+        long start = System.nanoTime();
+        list.getItems().setAll(tasks);
+        list.applyCss();
+        list.layout();
+        long elapsed = System.nanoTime() - start;
+        assertTrue(list.lookupAll(".task-card").size() > 0, "ListView не создал ни одной карточки");
+        return elapsed;
+    }
+
+    private static double report(String name, int cards, long[] nanos) {
+        long total = nanos[0] + nanos[1];
+        double perSecond = cards / (total / 1_000_000_000.0);
+        System.out.printf("[TaskCardBenchmark] %s: %d карточек за %.1f мс (создание и CSS %.1f мс, раскладка %.1f мс), %.0f карточек/с%n",
+                name, cards, total / 1_000_000.0, nanos[0] / 1_000_000.0, nanos[1] / 1_000_000.0, perSecond);
+        return perSecond;
+    }
+
+    private static Node loadFxmlCard(Task task) throws IOException {
+        FXMLLoader loader = new FXMLLoader(TaskCardBenchmarkTest.class.getResource("/com/example/projectflow/task_card.fxml"));
+        VBox card = loader.load();
+        card.getStylesheets().clear();
+        TaskCardController controller = loader.getController();
+        controller.setTask(task, null);
+        return card;
+    }
+
+    private static Node buildCard(Task task) {
+        return TaskCardView.create(task, null).getRoot();
+    }
+
+    private static List<Task> sampleTasks(int count) {
+        Task.Priority[] priorities = Task.Priority.values();
+        List<Task> tasks = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Task task = new Task(1, (i % 7 == 0 ? "Баг " : "Задача ") + i, i % 3 == 0 ? null : "Описание задачи " + i);
+            task.setId(i + 1);
+            task.setPosition(i);
+            task.setPriority(priorities[i % priorities.length]);
+            if (i % 2 == 0) {
+                task.setDueDate(LocalDate.now().plusDays(i % 10 - 3));
+            }
+            task.setCompleted(i % 5 == 0);
+            task.setAttachmentCount(i % 4);
+            tasks.add(task);
+        }
+        return tasks;
+    }
+
+    private interface CardFactory {
+        Node create(Task task) throws IOException;
+    }
+}
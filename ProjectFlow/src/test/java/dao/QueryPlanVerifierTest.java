@@ -0,0 +1,27 @@
+package dao;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class QueryPlanVerifierTest {
+
+    @BeforeAll
+    static void migrate() {
+        assertTrue(SchemaMigrator.migrate(), "Миграция схемы не выполнена");
+    }
+
+    @AfterAll
+    static void close() {
+        DatabaseConnection.closeConnection();
+    }
+
+    @Test
+    void hotQueriesUseIndexes() {
+        List<String> problems = QueryPlanVerifier.verify();
+        assertTrue(problems.isEmpty(), String.join("\n", problems));
+    }
+}
@@ -0,0 +1,97 @@
+package dao;
+
+import models.Column;
+import models.Project;
+import models.Task;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TaskDAOTest {
+    private final TaskDAO taskDAO = new TaskDAO();
+
+    @BeforeAll
+    static void migrate() {
+        assertTrue(SchemaMigrator.migrate(), "Миграция схемы не выполнена");
+    }
+
+    @AfterAll
+    static void close() {
+        DatabaseConnection.closeConnection();
+    }
+
+    @Test
+    void updateAllWritesWholeBatch() {
+        Column column = TestData.column(TestData.project(), 0);
+        List<Task> tasks = TestData.tasks(column, 5);
+        for (Task task : tasks) {
+            task.setTitle("Обновлено " + task.getId());
+        }
+
+        assertTrue(taskDAO.updateAll(tasks));
+
+        for (Task task : tasks) {
+            assertEquals("Обновлено " + task.getId(), TestData.title(task.getId()));
+        }
+    }
+
+    @Test
+    void updateAllRollsBackBatchOnFailure() {
+        Column column = TestData.column(TestData.project(), 0);
+        List<Task> tasks = TestData.tasks(column, 3);
+        for (Task task : tasks) {
+            task.setTitle("Не записано");
+        }
+        tasks.get(1).setColumnId(-1);
+
+        assertFalse(taskDAO.updateAll(tasks));
+
+        for (int i = 0; i < tasks.size(); i++) {
+            assertEquals("Задача " + i, TestData.title(tasks.get(i).getId()));
+        }
+    }
+
+    @Test
+    void archivePagesCoverTiedTimestampsWithoutDuplicates() throws SQLException {
+        Project project = TestData.project();
+        List<Task> tasks = TestData.tasks(TestData.column(project, 0), 23);
+        LocalDateTime base = LocalDateTime.of(2024, 1, 1, 12, 0);
+        for (int i = 0; i < tasks.size(); i++) {
+            DatabaseConnection.executeUpdate("UPDATE tasks SET is_archived = TRUE, updated_at = ? WHERE id = ?",
+                    Timestamp.valueOf(base.plusMinutes(i % 3)), tasks.get(i).getId());
+        }
+
+        List<Task> seen = new ArrayList<>();
+        Task after = null;
+        List<Task> page;
+        do {
+            page = taskDAO.findArchivedPage(project.getId(), after, 5);
+            assertTrue(page.size() <= 5);
+            seen.addAll(page);
+            after = page.isEmpty() ? after : page.get(page.size() - 1);
+        } while (page.size() == 5);
+
+        Set<Integer> ids = new HashSet<>();
+        for (Task task : seen) {
+            assertTrue(ids.add(task.getId()), "Задача ID=" + task.getId() + " попала на две страницы");
+        }
+        assertEquals(tasks.size(), ids.size());
+        for (int i = 1; i < seen.size(); i++) {
+            Task previous = seen.get(i - 1);
+            Task current = seen.get(i);
+            int order = current.getUpdatedAt().compareTo(previous.getUpdatedAt());
+            assertTrue(order < 0 || order == 0 && current.getId() < previous.getId(), "Нарушен порядок страниц архива");
+        }
+    }
+}
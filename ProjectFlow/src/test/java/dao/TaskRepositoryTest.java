@@ -0,0 +1,98 @@
+package dao;
+
+import models.Board;
+import models.Column;
+import models.Project;
+import models.Task;
+import models.TaskChanges;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import java.sql.SQLException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TaskRepositoryTest {
+    private final TaskRepository repository = TaskRepository.getInstance();
+    private final TaskDAO taskDAO = new TaskDAO();
+
+    @BeforeAll
+    static void migrate() {
+        assertTrue(SchemaMigrator.migrate(), "Миграция схемы не выполнена");
+    }
+
+    @AfterAll
+    static void close() {
+        DatabaseConnection.closeConnection();
+    }
+
+    @AfterEach
+    void clear() {
+        repository.clear();
+    }
+
+    @Test
+    void deltaMergesChangesAndTombstones() throws SQLException {
+        Project project = TestData.project();
+        Column column = TestData.column(project, 0);
+        List<Task> tasks = TestData.tasks(column, 3);
+        Board board = new BoardDAO().loadBoard(project.getId());
+        repository.load(board);
+        assertEquals(3, repository.size());
+
+        int changedId = tasks.get(0).getId();
+        int deletedId = tasks.get(1).getId();
+        DatabaseConnection.executeUpdate("UPDATE tasks SET title = ?, updated_at = CURRENT_TIMESTAMP WHERE id = ?",
+                "Изменено извне", changedId);
+        DatabaseConnection.executeUpdate("INSERT INTO task_tombstones (task_id, project_id) VALUES (?, ?)",
+                deletedId, project.getId());
+        DatabaseConnection.executeUpdate("DELETE FROM tasks WHERE id = ?", deletedId);
+        Task added = TestData.tasks(column, 1).get(0);
+        repository.clear();
+        repository.load(board);
+
+        TaskChanges changes = taskDAO.findChangedSince(project.getId(), board.getSyncedAt());
+        assertNotNull(changes);
+        assertTrue(changes.getDeletedTaskIds().contains(deletedId));
+        assertTrue(repository.applyChanges(changes) >= 3);
+
+        assertEquals("Изменено извне", repository.findById(changedId).getTitle());
+        assertNull(repository.findById(deletedId));
+        assertNotNull(repository.findById(added.getId()));
+        assertEquals(3, repository.findByColumnId(column.getId()).size());
+    }
+
+    @Test
+    void unchangedTasksAreNotReapplied() {
+        Project project = TestData.project();
+        Column column = TestData.column(project, 0);
+        TestData.tasks(column, 2);
+        Board board = new BoardDAO().loadBoard(project.getId());
+        repository.load(board);
+
+        TaskChanges changes = taskDAO.findChangedSince(project.getId(), board.getSyncedAt());
+        assertNotNull(changes);
+
+        assertEquals(0, repository.applyChanges(changes));
+    }
+
+    @Test
+    void columnChangeRequiresFullReload() throws SQLException {
+        Project project = TestData.project();
+        Column column = TestData.column(project, 0);
+        TestData.tasks(column, 1);
+        Board board = new BoardDAO().loadBoard(project.getId());
+        repository.load(board);
+
+        DatabaseConnection.executeUpdate("UPDATE columns SET title = ? WHERE id = ?", "Переименована", column.getId());
+        TaskChanges changes = taskDAO.findChangedSince(project.getId(), board.getSyncedAt());
+        assertNotNull(changes);
+
+        assertEquals(-1, repository.applyChanges(changes));
+    }
+}
@@ -0,0 +1,99 @@
+package dao;
+
+import models.Column;
+import models.Task;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TaskWriteBehindTest {
+    private static final TaskWriteBehind WRITE_BEHIND = TaskWriteBehind.getInstance();
+    private static Column column;
+
+    @BeforeAll
+    static void migrate() {
+        assertTrue(SchemaMigrator.migrate(), "Миграция схемы не выполнена");
+        column = TestData.column(TestData.project(), 0);
+    }
+
+    @AfterAll
+    static void close() {
+        DatabaseConnection.closeConnection();
+    }
+
+    @Test
+    void repeatedEditsOfOneTaskCoalesceIntoOneWrite() {
+        Task task = TestData.tasks(column, 1).get(0);
+        long coalesced = stat("объединено");
+        long written = stat("записано");
+
+        for (int i = 1; i <= 5; i++) {
+            task.setTitle("Правка " + i);
+            assertTrue(WRITE_BEHIND.submit(task));
+        }
+        assertTrue(WRITE_BEHIND.flush());
+
+        assertEquals(4, stat("объединено") - coalesced);
+        assertEquals(1, stat("записано") - written);
+        assertEquals("Правка 5", TestData.title(task.getId()));
+    }
+
+    @Test
+    void failingWriteIsDroppedAfterMaxAttempts() {
+        Task task = TestData.tasks(column, 1).get(0);
+        long failures = stat("ошибок");
+        long dropped = stat("отброшено");
+
+        task.setTitle("Не будет записано");
+        task.setColumnId(-1);
+        assertTrue(WRITE_BEHIND.submit(task));
+
+        assertTrue(WRITE_BEHIND.flush(), "flush должен завершиться после отбрасывания записи");
+        assertFalse(WRITE_BEHIND.isPending(task.getId()));
+        assertEquals(3, stat("ошибок") - failures);
+        assertEquals(1, stat("отброшено") - dropped);
+        assertEquals("Задача 0", TestData.title(task.getId()));
+    }
+
+    @Test
+    void flushWaitsForWriteInFlight() throws Exception {
+        Task task = TestData.tasks(column, 1).get(0);
+        CompletableFuture<Boolean> flushed;
+        try (Connection lockHolder = DatabaseConnection.getPool().borrow()) {
+            lockHolder.setAutoCommit(false);
+            try (PreparedStatement stmt = lockHolder.prepareStatement("UPDATE tasks SET position = position WHERE id = ?")) {
+                stmt.setInt(1, task.getId());
+                stmt.executeUpdate();
+            }
+
+            task.setTitle("После блокировки");
+            assertTrue(WRITE_BEHIND.submit(task));
+            flushed = CompletableFuture.supplyAsync(WRITE_BEHIND::flush);
+            Thread.sleep(300);
+
+            assertFalse(flushed.isDone(), "flush вернулся, пока запись ещё выполняется");
+            assertTrue(WRITE_BEHIND.isPending(task.getId()));
+            lockHolder.commit();
+        }
+
+        assertTrue(flushed.get(15, TimeUnit.SECONDS));
+        assertFalse(WRITE_BEHIND.isPending(task.getId()));
+        assertEquals("После блокировки", TestData.title(task.getId()));
+    }
+
+    private static long stat(String name) {
+        Matcher matcher = Pattern.compile(name + "=(\\d+)").matcher(WRITE_BEHIND.getStats());
+        assertTrue(matcher.find(), "В статистике нет " + name);
+        return Long.parseLong(matcher.group(1));
+    }
+}
@@ -0,0 +1,48 @@
+package dao;
+
+import models.Column;
+import models.Project;
+import models.Task;
+import models.User;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+final class TestData {
+    private static final AtomicInteger SEQUENCE = new AtomicInteger();
+
+    private TestData() {}
+
+    static Project project() {
+        int n = SEQUENCE.incrementAndGet();
+        User user = new User("test_user_" + n + "_" + System.nanoTime(), "user" + n + "@test.local", "hash");
+        assertTrue(new UserDAO().create(user), "Пользователь не создан");
+        Project project = new Project(user.getId(), "Проект " + n, null);
+        assertTrue(new ProjectDAO().create(project), "Проект не создан");
+        return project;
+    }
+
+    static Column column(Project project, int position) {
+        Column column = new Column(project.getId(), "Колонка " + position, position);
+        assertTrue(new ColumnDAO().create(column), "Колонка не создана");
+        return column;
+    }
+
+    static List<Task> tasks(Column column, int count) {
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Task task = new Task(column.getId(), "Задача " + i, "Описание " + i);
+            task.setPosition(i);
+            tasks.add(task);
+        }
+        assertTrue(new TaskDAO().createAll(tasks), "Задачи не созданы");
+        return tasks;
+    }
+
+    static String title(int taskId) {
+        Task task = new TaskDAO().findById(taskId);
+        return task != null ? task.getTitle() : null;
+    }
+}
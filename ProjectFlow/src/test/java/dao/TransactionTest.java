@@ -0,0 +1,67 @@
+package dao;
+
+import models.Column;
+import models.Task;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import java.sql.SQLException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TransactionTest {
+    private static Column column;
+
+    @BeforeAll
+    static void migrate() {
+        assertTrue(SchemaMigrator.migrate(), "Миграция схемы не выполнена");
+        column = TestData.column(TestData.project(), 0);
+    }
+
+    @AfterAll
+    static void close() {
+        DatabaseConnection.closeConnection();
+    }
+
+    @Test
+    void commitsAllStatementsTogether() throws SQLException {
+        Task task = TestData.tasks(column, 1).get(0);
+
+        DatabaseConnection.inTransaction(() -> {
+            DatabaseConnection.executeUpdate("UPDATE tasks SET title = ? WHERE id = ?", "Первое", task.getId());
+            return DatabaseConnection.executeUpdate("UPDATE tasks SET description = ? WHERE id = ?", "Второе", task.getId());
+        });
+
+        assertFalse(DatabaseConnection.isInTransaction());
+        assertEquals("Первое", TestData.title(task.getId()));
+    }
+
+    @Test
+    void rollsBackEarlierStatementsWhenLaterOneFails() {
+        Task task = TestData.tasks(column, 1).get(0);
+
+        assertThrows(SQLException.class, () -> DatabaseConnection.inTransaction(() -> {
+            DatabaseConnection.executeUpdate("UPDATE tasks SET title = ? WHERE id = ?", "Откачено", task.getId());
+            return DatabaseConnection.executeUpdate("UPDATE tasks SET column_id = ? WHERE id = ?", -1, task.getId());
+        }));
+
+        assertFalse(DatabaseConnection.isInTransaction());
+        assertEquals("Задача 0", TestData.title(task.getId()));
+    }
+
+    @Test
+    void rollsBackWhenWorkThrowsRuntimeException() {
+        Task task = TestData.tasks(column, 1).get(0);
+
+        assertThrows(IllegalStateException.class, () -> DatabaseConnection.inTransaction(() -> {
+            DatabaseConnection.executeUpdate("UPDATE tasks SET title = ? WHERE id = ?", "Откачено", task.getId());
+            throw new IllegalStateException("сбой после записи");
+        }));
+
+        assertFalse(DatabaseConnection.isInTransaction());
+        assertEquals("Задача 0", TestData.title(task.getId()));
+    }
+}